@@ -0,0 +1,155 @@
+package com.alumnositm.todo.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.TodoFilter;
+import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoChangesResponse;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.dtos.response.TodoStatsResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.services.TodoServices;
+import com.alumnositm.todo.services.impl.MeteredTodoServices;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Costo que agrega MeteredTodoServices por llamada: el mismo servicio sin trabajo (regresa valores
+ * fijos) llamado directo y a traves del decorador, con el registro de Prometheus que usa la app.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MeteredTodoServicesBenchmark {
+
+    private TodoServices direct;
+    private TodoServices metered;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TodoResponse todo = new TodoResponse(1L, "Pagar tarea", "Desc", TodoStatus.PENDING, 0L);
+        TodoPageResponse page = new TodoPageResponse(List.of(todo), null);
+        direct = new StubTodoServices(todo, page);
+        Map<Object, Object> cache = new ConcurrentHashMap<>();
+        cache.put(1, todo);
+        metered = new MeteredTodoServices(direct, new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), cache);
+    }
+
+    @Benchmark
+    public TodoResponse findByIdDirect() {
+        return direct.findById(1);
+    }
+
+    @Benchmark
+    public TodoResponse findByIdMetered() {
+        return metered.findById(1);
+    }
+
+    @Benchmark
+    public TodoPageResponse allTodosDirect() {
+        return direct.allTodos(null, 50, null, null);
+    }
+
+    @Benchmark
+    public TodoPageResponse allTodosMetered() {
+        return metered.allTodos(null, 50, null, null);
+    }
+
+    @Benchmark
+    public TodoResponse updateMetered() {
+        return metered.updateTodoById(1, new UpdateTodoRequest("Pagar", "Desc", TodoStatus.COMPLETED), null);
+    }
+
+    // Servicio sin trabajo real para que solo se mida el decorador
+    private record StubTodoServices(TodoResponse todo, TodoPageResponse page) implements TodoServices {
+
+        @Override
+        public TodoPageResponse allTodos(Long after, int limit, TodoStatus status, Set<TodoField> fields) {
+            return page;
+        }
+
+        @Override
+        public TodoResponse createTodo(CreateTodoRequest createTodoRequest) {
+            return todo;
+        }
+
+        @Override
+        public List<TodoEntity> createTodos(List<CreateTodoRequest> createTodoRequests) {
+            return List.of();
+        }
+
+        @Override
+        public TodoResponse findById(int idTodo) {
+            return todo;
+        }
+
+        @Override
+        public TodoResponse updateTodoById(int idTodo, UpdateTodoRequest entity, Long expectedVersion) {
+            return todo;
+        }
+
+        @Override
+        public List<TodoResponse> findTodosByTitle(String queryParam, int limit, Set<TodoField> fields) {
+            return page.getItems();
+        }
+
+        @Override
+        public boolean deleteTodoById(int idTodo) {
+            return true;
+        }
+
+        @Override
+        public long updateStatus(List<Long> ids, TodoFilter filter, TodoStatus status) {
+            return 0;
+        }
+
+        @Override
+        public long deleteTodos(List<Long> ids, TodoFilter filter) {
+            return 0;
+        }
+
+        @Override
+        public void exportTodos(Consumer<TodoResponse> consumer) {
+        }
+
+        @Override
+        public TodoChangesResponse changesSince(long since, int limit) {
+            return new TodoChangesResponse(List.of(), since);
+        }
+
+        @Override
+        public String changeVersion() {
+            return "0";
+        }
+
+        @Override
+        public TodoStatsResponse statusCounts() {
+            return new TodoStatsResponse(Map.of(), 0, null);
+        }
+    }
+}
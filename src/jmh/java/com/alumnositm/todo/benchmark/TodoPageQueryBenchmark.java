@@ -0,0 +1,114 @@
+package com.alumnositm.todo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.alumnositm.todo.TodoApplication;
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.repositorys.TodoRepository;
+import com.alumnositm.todo.services.TodoServices;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Una pagina de GET /api/v1/todos leida como entidades administradas (como antes de TodoResponse)
+ * contra la proyeccion "select new" en transaccion de solo lectura. Con -prof gc se ve la memoria
+ * por operacion que cuesta el contexto de persistencia:
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="TodoPageQuery -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoPageQueryBenchmark {
+
+    private static final String ENTITY_PAGE = "select t from TodoEntity t where t.id > :after order by t.id";
+
+    @Param({"50", "500"})
+    public int limit;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TodoRepository todoRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:jmh_page;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa", "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=warn");
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        todoRepository = context.getBean(TodoRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<CreateTodoRequest> requests = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            requests.add(new CreateTodoRequest("Pagar tarea", "Creada por el benchmark"));
+        }
+        context.getBean(TodoServices.class).createTodos(requests);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Antes: entidades administradas con su snapshot para el dirty checking y flush al commit
+    @Benchmark
+    public List<TodoEntity> managedEntities() {
+        return readWrite.execute(tx -> entityManager.createQuery(ENTITY_PAGE, TodoEntity.class)
+                .setParameter("after", 0L)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    // Entidades en transaccion de solo lectura: Hibernate no guarda snapshot ni hace flush
+    @Benchmark
+    public List<TodoEntity> readOnlyEntities() {
+        return readOnly.execute(tx -> entityManager.createQuery(ENTITY_PAGE, TodoEntity.class)
+                .setParameter("after", 0L)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    // Ahora: TodoResponse armado desde las columnas, sin pasar por el contexto de persistencia
+    @Benchmark
+    public List<TodoResponse> projection() {
+        return readOnly.execute(tx -> todoRepository.findPageAfter(0L, Limit.of(limit)));
+    }
+}
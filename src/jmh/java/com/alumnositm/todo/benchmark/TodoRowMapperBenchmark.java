@@ -0,0 +1,98 @@
+package com.alumnositm.todo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.repositorys.TodoJdbcRepository;
+import com.alumnositm.todo.repositorys.TodoRowMapper;
+import com.alumnositm.todo.services.search.LikeTodoSearchEngine;
+
+/**
+ * Costo de TodoRowMapper en la busqueda por titulo: la busqueda completa contra leer las mismas
+ * columnas del ResultSet sin armar TodoResponse ni convertir el status.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoRowMapperBenchmark {
+
+    private static final String SQL = "select id, title, description, status, version from todos order by id limit ?";
+
+    @Param({"20", "100"})
+    public int limit;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private LikeTodoSearchEngine searchEngine;
+    private final TodoRowMapper rowMapper = new TodoRowMapper();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table todos (id bigint generated by default as identity primary key, "
+                + "title varchar(255) not null, description varchar(1000) not null, status varchar(20) not null, "
+                + "version bigint default 0 not null)");
+        List<TodoEntity> todos = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            todos.add(new TodoEntity(null, "Pagar tarea", "Creada por el benchmark", TodoStatus.values()[i % 4]));
+        }
+        new TodoJdbcRepository(jdbcTemplate).insertAll(todos);
+        searchEngine = new LikeTodoSearchEngine(jdbcTemplate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public List<TodoResponse> findTodosByTitle() {
+        return searchEngine.search("pagar", limit);
+    }
+
+    @Benchmark
+    public List<TodoResponse> queryWithRowMapper() {
+        return jdbcTemplate.query(SQL, rowMapper, limit);
+    }
+
+    // Linea base: mismas columnas leidas del ResultSet, sin crear objetos
+    @Benchmark
+    public void queryColumnsOnly(Blackhole blackhole) {
+        jdbcTemplate.query(SQL, rs -> {
+            blackhole.consume(rs.getLong("id"));
+            blackhole.consume(rs.getString("title"));
+            blackhole.consume(rs.getString("description"));
+            blackhole.consume(rs.getString("status"));
+        }, limit);
+    }
+}
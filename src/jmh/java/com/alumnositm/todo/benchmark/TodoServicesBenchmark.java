@@ -0,0 +1,136 @@
+package com.alumnositm.todo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.alumnositm.todo.TodoApplication;
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.services.TodoServices;
+
+/**
+ * Operaciones de TodoServicesImpl con el contexto de Spring completo (proxies de cache y transaccion
+ * incluidos) y sin capa HTTP.
+ *
+ * database=h2 usa H2 en memoria; database=h2-postgres usa H2 en modo PostgreSQL como sustituto local.
+ * Para una base real: -p database=postgres -jvmArgsAppend -Djmh.postgres.url=jdbc:postgresql://...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoServicesBenchmark {
+
+    private static final String[] WORDS = {"Comprar", "Revisar", "Enviar", "Pagar", "Llamar", "Preparar", "Estudiar", "Limpiar"};
+
+    @Param({"h2", "h2-postgres"})
+    public String database;
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TodoServices todoServices;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Como argumentos de linea de comandos para que ganen sobre application.properties
+        List<String> args = new ArrayList<>(List.of(databaseArgs()));
+        args.addAll(List.of("--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=warn"));
+        context = new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        todoServices = context.getBean(TodoServices.class);
+
+        List<CreateTodoRequest> requests = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            requests.add(new CreateTodoRequest(WORDS[i % WORDS.length] + " tarea", "Creada por el benchmark"));
+        }
+        ids = todoServices.createTodos(requests).stream().mapToLong(TodoEntity::getId).toArray();
+    }
+
+    private String[] databaseArgs() {
+        return switch (database) {
+            case "h2" -> new String[] {
+                    "--spring.datasource.url=jdbc:h2:mem:jmh_h2;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.username=sa", "--spring.datasource.password="};
+            case "h2-postgres" -> new String[] {
+                    "--spring.datasource.url=jdbc:h2:mem:jmh_pg;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.username=sa", "--spring.datasource.password="};
+            case "postgres" -> new String[] {
+                    "--spring.datasource.url=" + System.getProperty("jmh.postgres.url", "jdbc:postgresql://localhost:5432/todo_db")};
+            default -> throw new IllegalArgumentException("Base desconocida: " + database);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private int randomId() {
+        return (int) ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    // Con la cache de findById caliente casi siempre es un hit
+    @Benchmark
+    public TodoResponse findById() {
+        return todoServices.findById(randomId());
+    }
+
+    @Benchmark
+    public TodoPageResponse allTodosPage() {
+        return todoServices.allTodos((long) randomId(), 50, null, null);
+    }
+
+    @Benchmark
+    public TodoPageResponse allTodosPageByStatus() {
+        return todoServices.allTodos(null, 50, TodoStatus.PENDING, null);
+    }
+
+    @Benchmark
+    public List<TodoResponse> findTodosByTitle() {
+        return todoServices.findTodosByTitle("pagar", 20, null);
+    }
+
+    @Benchmark
+    public TodoResponse updateTodoById() {
+        return todoServices.updateTodoById(randomId(),
+                new UpdateTodoRequest("Revisar tarea", "Actualizada por el benchmark", TodoStatus.IN_PROGRESS), null);
+    }
+
+    // Alta y baja en la misma invocacion para que la tabla no crezca entre iteraciones
+    @Benchmark
+    public boolean createAndDeleteTodo() {
+        TodoResponse saved = todoServices.createTodo(new CreateTodoRequest("Nueva tarea", "Creada por el benchmark"));
+        return todoServices.deleteTodoById(saved.id().intValue());
+    }
+}
@@ -0,0 +1,78 @@
+package com.alumnositm.todo.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
+import com.alumnositm.todo.helpers.TodoStatus;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Bean Validation de CreateTodoRequest y UpdateTodoRequest (@Pattern y @ValidTodoStatus), validos e
+ * invalidos: el caso invalido ademas arma los mensajes de error.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    private final CreateTodoRequest validCreate = new CreateTodoRequest("Pagar la luz", "Antes del viernes");
+    private final CreateTodoRequest invalidCreate = new CreateTodoRequest(" Pagar 123", "");
+    private final UpdateTodoRequest validUpdate = new UpdateTodoRequest("Pagar la luz", "Antes del viernes", TodoStatus.COMPLETED);
+    private final UpdateTodoRequest invalidUpdate = new UpdateTodoRequest("Pagar la luz", "Antes del viernes", null);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateTodoRequest>> createValid() {
+        return validator.validate(validCreate);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateTodoRequest>> createInvalid() {
+        return validator.validate(invalidCreate);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UpdateTodoRequest>> updateValid() {
+        return validator.validate(validUpdate);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UpdateTodoRequest>> updateInvalid() {
+        return validator.validate(invalidUpdate);
+    }
+}
@@ -0,0 +1,77 @@
+package com.alumnositm.todo.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.protobuf.TodoProtoMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Codificacion de una pagina de todos (GET /api/v1/todos) en cada formato que negocia la API:
+ * JSON y CBOR con Jackson, Protobuf con las clases generadas (incluye pasar de TodoResponse al
+ * mensaje, como hace el conversor). El tamano de cada formato se imprime al iniciar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoWireFormatBenchmark {
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ObjectWriter jsonWriter;
+    private ObjectWriter cborWriter;
+    private TodoPageResponse page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        jsonWriter = new ObjectMapper().writerFor(TodoPageResponse.class);
+        cborWriter = new CBORMapper().writerFor(TodoPageResponse.class);
+        List<TodoResponse> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new TodoResponse((long) i + 1, "Pagar tarea " + i, "Creada por el benchmark",
+                    TodoStatus.values()[i % 4], (long) i % 3));
+        }
+        page = new TodoPageResponse(items, (long) size);
+        System.out.printf("%n[%d todos] json=%d B, cbor=%d B, protobuf=%d B%n", size, json().length, cbor().length,
+                protobuf().length);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return jsonWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cborWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] protobuf() {
+        return TodoProtoMapper.toMessage(page).toByteArray();
+    }
+}
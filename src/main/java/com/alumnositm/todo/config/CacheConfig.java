@@ -0,0 +1,64 @@
+package com.alumnositm.todo.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+// La cache va por fuera de @Transactional: un hit no abre transaccion y la invalidacion
+// de updateTodoById/deleteTodoById ocurre despues del commit
+@Configuration
+@EnableCaching(order = 0)
+public class CacheConfig {
+
+    public static final String TODO_BY_ID = "todoById";
+
+    @Value("${todos.cache.by-id.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${todos.cache.by-id.ttl:60s}")
+    private Duration ttl;
+
+    // Los "no encontrado" se guardan menos tiempo para que un alta hecha en otro nodo se vea pronto
+    @Value("${todos.cache.by-id.negative-ttl:5s}")
+    private Duration negativeTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Con allowNullValues (default) un findById que regresa null tambien se guarda en cache
+        cacheManager.registerCustomCache(TODO_BY_ID, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(expiry(ttl, negativeTtl))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+
+    static Expiry<Object, Object> expiry(Duration ttl, Duration negativeTtl) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Object key, Object value, long currentTime) {
+                return (value == NullValue.INSTANCE ? negativeTtl : ttl).toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.alumnositm.todo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Async usa el applicationTaskExecutor de Spring Boot, que con spring.threads.virtual.enabled=true
+// lanza cada tarea en un hilo virtual. Los executors de la aplicacion deben tomarse de ese bean
+// (AsyncTaskExecutor) en lugar de crear pools propios, para respetar el modo de ejecucion; la
+// excepcion son los envios SSE, que pueden bloquear y van siempre en hilos virtuales (SseConfig).
+// @Scheduled (relay del outbox, purgas, heartbeat SSE, reconciliacion de /stats) corre en el
+// taskScheduler de Spring Boot, con spring.task.scheduling.pool.size hilos para que un trabajo lento
+// no detenga a los demas. El flush de la ingesta write-behind tiene su propio hilo (WriteBehindIngestor)
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class ExecutionConfig {
+}
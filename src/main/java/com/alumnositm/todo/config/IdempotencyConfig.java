@@ -0,0 +1,51 @@
+package com.alumnositm.todo.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.alumnositm.todo.idempotency.IdempotencyFilter;
+import com.alumnositm.todo.idempotency.IdempotencyStore;
+import com.alumnositm.todo.idempotency.InMemoryIdempotencyStore;
+import com.alumnositm.todo.idempotency.JdbcIdempotencyStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Idempotency-Key en POST /api/v1/todos y /api/v1/todos/bulk/** (filtro de Servlet, solo Spring MVC)
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "todos.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Value("${todos.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    // memory: solo en esta instancia; database: ademas en la tabla todo_idempotency
+    @Bean
+    public IdempotencyStore idempotencyStore(JdbcTemplate jdbcTemplate,
+            @Value("${todos.idempotency.store:memory}") String store,
+            @Value("${todos.idempotency.max-memory:32MB}") DataSize maxMemory) {
+        InMemoryIdempotencyStore memory = new InMemoryIdempotencyStore(maxMemory.toBytes(), ttl);
+        if ("database".equals(store)) {
+            return new JdbcIdempotencyStore(jdbcTemplate, memory, ttl, 65536);
+        }
+        return memory;
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore,
+            MeterRegistry meterRegistry,
+            @Value("${todos.idempotency.in-flight-timeout:30s}") Duration inFlightTimeout) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, inFlightTimeout, meterRegistry));
+        registration.addUrlPatterns("/api/v1/todos", "/api/v1/todos/bulk/*");
+        return registration;
+    }
+}
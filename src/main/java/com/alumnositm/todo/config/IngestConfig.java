@@ -0,0 +1,49 @@
+package com.alumnositm.todo.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.unit.DataSize;
+
+import com.alumnositm.todo.ingest.IngestLog;
+import com.alumnositm.todo.ingest.WriteBehindIngestor;
+import com.alumnositm.todo.repositorys.TodoIngestKeyRepository;
+import com.alumnositm.todo.services.TodoServices;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Ingesta write-behind para POST /api/v1/todos; sin este bean el alta es sincrona como siempre
+@Configuration
+@ConditionalOnProperty(name = "todos.ingest.mode", havingValue = "write-behind")
+public class IngestConfig {
+
+    @Bean
+    public IngestLog ingestLog(@Value("${todos.ingest.log-file:ingest.log}") Path file,
+            @Value("${todos.ingest.log-size:64MB}") DataSize size,
+            @Value("${todos.ingest.fsync:true}") boolean fsync) throws IOException {
+        return new IngestLog(file, Math.toIntExact(size.toBytes()), fsync);
+    }
+
+    // close() vacia la cola al apagar; Spring cierra antes este bean que el log del que depende.
+    // El flush periodico va en un hilo propio del ingestor, fuera del taskScheduler compartido
+    @Bean
+    public WriteBehindIngestor writeBehindIngestor(IngestLog ingestLog, TodoServices todoServices,
+            TodoIngestKeyRepository keyRepository, TransactionOperations transactionOperations,
+            MeterRegistry meterRegistry,
+            @Value("${todos.ingest.batch-size:1000}") int batchSize,
+            @Value("${todos.ingest.max-pending:100000}") int maxPending,
+            @Value("${todos.ingest.offer-timeout:200ms}") Duration offerTimeout,
+            @Value("${todos.ingest.key-retention:1d}") Duration keyRetention,
+            @Value("${todos.ingest.flush-interval:100ms}") Duration flushInterval) {
+        WriteBehindIngestor ingestor = new WriteBehindIngestor(ingestLog, todoServices, keyRepository,
+                transactionOperations, batchSize, maxPending, offerTimeout, keyRetention, meterRegistry);
+        ingestor.startFlushing(flushInterval);
+        return ingestor;
+    }
+}
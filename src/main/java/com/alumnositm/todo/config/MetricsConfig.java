@@ -0,0 +1,37 @@
+package com.alumnositm.todo.config;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.alumnositm.todo.services.TodoServices;
+import com.alumnositm.todo.services.impl.CoalescingTodoServices;
+import com.alumnositm.todo.services.impl.MeteredTodoServices;
+import com.alumnositm.todo.services.impl.TodoServicesImpl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Los controladores reciben TodoServices ya medido; TodoServicesImpl sigue siendo el bean con
+// cache y transacciones. Entre los dos va CoalescingTodoServices (todos.singleflight.enabled).
+// Hikari y los repositorios de Spring Data los mide Spring Boot (hikaricp.connections.*,
+// spring.data.repository.invocations)
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    @Primary
+    public TodoServices meteredTodoServices(TodoServicesImpl todoServicesImpl, MeterRegistry meterRegistry,
+            CacheManager cacheManager, @Value("${todos.singleflight.enabled:true}") boolean singleFlight) {
+        CaffeineCache todoById = (CaffeineCache) cacheManager.getCache(CacheConfig.TODO_BY_ID);
+        Map<Object, Object> todoByIdCache = todoById.getNativeCache().asMap();
+        TodoServices services = singleFlight
+                ? new CoalescingTodoServices(todoServicesImpl, meterRegistry, todoByIdCache)
+                : todoServicesImpl;
+        return new MeteredTodoServices(services, meterRegistry, todoByIdCache);
+    }
+}
@@ -0,0 +1,40 @@
+package com.alumnositm.todo.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.alumnositm.todo.outbox.FileOutboxSink;
+import com.alumnositm.todo.outbox.InMemoryOutboxSink;
+import com.alumnositm.todo.outbox.LogOutboxSink;
+import com.alumnositm.todo.outbox.OutboxRelay;
+import com.alumnositm.todo.outbox.OutboxSink;
+import com.alumnositm.todo.repositorys.TodoOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Configuration
+public class OutboxConfig {
+
+    // log: una linea JSON por evento en el log; file: NDJSON en todos.outbox.file; memory: pruebas
+    @Value("${todos.outbox.sink:log}")
+    private String sink;
+
+    @Bean
+    public OutboxSink outboxSink(ObjectMapper objectMapper, @Value("${todos.outbox.file:outbox.ndjson}") Path file) {
+        return switch (sink) {
+            case "file" -> new FileOutboxSink(file, objectMapper);
+            case "memory" -> new InMemoryOutboxSink();
+            default -> new LogOutboxSink(objectMapper);
+        };
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(TodoOutboxRepository outboxRepository, OutboxSink outboxSink,
+            @Value("${todos.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${todos.outbox.retention:7d}") Duration retention) {
+        return new OutboxRelay(outboxRepository, outboxSink, batchSize, retention);
+    }
+}
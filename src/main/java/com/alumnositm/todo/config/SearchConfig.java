@@ -0,0 +1,67 @@
+package com.alumnositm.todo.config;
+
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import com.alumnositm.todo.repositorys.TodoJdbcRepository;
+import com.alumnositm.todo.repositorys.TodoRepository;
+import com.alumnositm.todo.services.search.CachingTodoSearchEngine;
+import com.alumnositm.todo.services.search.InvertedIndexTodoSearchEngine;
+import com.alumnositm.todo.services.search.LikeTodoSearchEngine;
+import com.alumnositm.todo.services.search.TodoInvertedIndex;
+import com.alumnositm.todo.services.search.TodoSearchEngine;
+import com.alumnositm.todo.services.search.TrigramTodoSearchEngine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class SearchConfig {
+
+    // database: busqueda en la base (pg_trgm o LIKE); memory: indice invertido en memoria
+    @Value("${todos.search.engine:database}")
+    private String engine;
+
+    @Bean
+    public TodoSearchEngine todoSearchEngine(DataSource dataSource, JdbcTemplate jdbcTemplate,
+            TodoRepository todoRepository, TodoJdbcRepository todoJdbcRepository,
+            MeterRegistry meterRegistry) throws MetaDataAccessException {
+        TodoSearchEngine database = databaseSearchEngine(dataSource, jdbcTemplate);
+        if ("memory".equals(engine)) {
+            return new InvertedIndexTodoSearchEngine(new TodoInvertedIndex(), todoRepository,
+                    todoJdbcRepository, database, meterRegistry);
+        }
+        return database;
+    }
+
+    // TodoServicesImpl recibe el motor con cache; el motor sigue siendo bean para que reciba sus
+    // eventos (reconstruccion e invalidacion del indice, creacion del indice pg_trgm)
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "todos.search.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CachingTodoSearchEngine cachingTodoSearchEngine(@Qualifier("todoSearchEngine") TodoSearchEngine todoSearchEngine,
+            @Value("${todos.search.cache.maximum-size:1000}") long maximumSize,
+            @Value("${todos.search.cache.ttl:5m}") Duration ttl, MeterRegistry meterRegistry) {
+        return new CachingTodoSearchEngine(todoSearchEngine, maximumSize, ttl, meterRegistry);
+    }
+
+    private TodoSearchEngine databaseSearchEngine(DataSource dataSource, JdbcTemplate jdbcTemplate) throws MetaDataAccessException {
+        TodoSearchEngine like = new LikeTodoSearchEngine(jdbcTemplate);
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if ("PostgreSQL".equals(product)) {
+            return new TrigramTodoSearchEngine(jdbcTemplate, like);
+        }
+        return like;
+    }
+}
@@ -0,0 +1,48 @@
+package com.alumnositm.todo.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.alumnositm.todo.sqlstats.SqlStatsEndpoint;
+import com.alumnositm.todo.sqlstats.StatementStats;
+import com.alumnositm.todo.sqlstats.StatementStatsDataSource;
+
+// Estadisticas por sentencia SQL y aviso de consultas lentas. Se envuelve cualquier DataSource del
+// contexto (el de Boot o el que arma ReactiveConfig), asi Hibernate y JdbcTemplate quedan medidos
+@Configuration
+@ConditionalOnProperty(name = "todos.sql.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsConfig {
+
+    @Bean
+    public StatementStats statementStats(@Value("${todos.sql.stats.slow-threshold:200ms}") Duration slowThreshold,
+            @Value("${todos.sql.stats.max-statements:500}") int maxStatements) {
+        return new StatementStats(slowThreshold, maxStatements);
+    }
+
+    @Bean
+    public SqlStatsEndpoint sqlStatsEndpoint(StatementStats statementStats) {
+        return new SqlStatsEndpoint(statementStats);
+    }
+
+    // static para que el post-procesador no obligue a crear esta configuracion antes de tiempo
+    @Bean
+    public static BeanPostProcessor statementStatsDataSourcePostProcessor(ObjectProvider<StatementStats> stats) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementStatsDataSource)) {
+                    return new StatementStatsDataSource(dataSource, stats.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.alumnositm.todo.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import com.alumnositm.todo.sse.TodoEventBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Los envios a los clientes SSE van cada uno en un hilo virtual, no por el applicationTaskExecutor de
+// @Async ni por un pool fijo: un cliente trabado solo estaciona su hilo virtual y no hay un numero de
+// hilos que unos cuantos clientes lentos puedan agotar. La escritura trabada termina con error al
+// vencer server.tomcat.connection-timeout (= todos.sse.write-timeout). Tomcat espera el socket con
+// Object.wait dentro de SseEmitter.send (synchronized), y en Java 21 la JVM compensa esa espera con
+// otro hilo portador. El executor no es un bean para no reemplazar el que Spring Boot crea cuando no
+// hay otro Executor
+@Configuration
+@Profile("!reactive")
+public class SseConfig {
+
+    @Bean
+    public TodoEventBroadcaster todoEventBroadcaster(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${todos.sse.buffer-size:256}") int bufferSize,
+            @Value("${todos.sse.overflow:drop}") String overflow,
+            @Value("${todos.sse.timeout:30m}") Duration timeout,
+            @Value("${todos.sse.heartbeat:15s}") Duration heartbeat,
+            @Value("${todos.sse.write-timeout:10s}") Duration writeTimeout,
+            @Value("${todos.sse.max-subscribers:50000}") int maxSubscribers) {
+        // Cada suscriptor tiene a lo mas un envio en curso, asi que hay a lo mas maxSubscribers hilos
+        SimpleAsyncTaskExecutor writers = new SimpleAsyncTaskExecutor("sse-");
+        writers.setVirtualThreads(true);
+        return new TodoEventBroadcaster(writers, objectMapper, meterRegistry, bufferSize,
+                TodoEventBroadcaster.OverflowPolicy.valueOf(overflow.toUpperCase()), timeout, heartbeat,
+                writeTimeout, maxSubscribers);
+    }
+}
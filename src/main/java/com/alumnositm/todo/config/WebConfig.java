@@ -1,22 +1,39 @@
 package com.alumnositm.todo.config;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.alumnositm.todo.protobuf.TodoProtobufHttpMessageConverter;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     
     @Value("${cors.allowed.origins:http://localhost:3000,http://localhost:5173}")
     private String allowedOrigins;
     
+    // Sin exposedHeaders el navegador oculta al JavaScript de otro origen todo lo que no sea
+    // cabecera simple: el cliente no podria leer el ETag para If-Match/If-None-Match, el Location
+    // de lo creado ni saber si la respuesta fue una repeticion idempotente
     @Override
     public void addCorsMappings(@SuppressWarnings("null") CorsRegistry registry) {
         registry.addMapping("/api/**")
                 .allowedOrigins(allowedOrigins.split(","))
                 .allowedMethods("GET", "POST", "PUT", "DELETE")
-                .allowedHeaders("*");
+                .allowedHeaders("*")
+                .exposedHeaders(HttpHeaders.ETAG, HttpHeaders.LOCATION, "Idempotent-Replayed");
+    }
+
+    // Al final de la lista: con Accept */* se sigue eligiendo JSON. application/cbor ya lo cubre
+    // Jackson al tener jackson-dataformat-cbor en el classpath
+    @Override
+    public void extendMessageConverters(@SuppressWarnings("null") List<HttpMessageConverter<?>> converters) {
+        converters.add(new TodoProtobufHttpMessageConverter());
     }
 }
 
@@ -0,0 +1,98 @@
+package com.alumnositm.todo.controllers;
+
+import java.net.URI;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.services.ReactiveTodoServices;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Mismas rutas que TodoController, sobre WebFlux + R2DBC (perfil reactive)
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/todos")
+public class ReactiveTodoController {
+
+    private final ReactiveTodoServices todoServices;
+
+    public ReactiveTodoController(ReactiveTodoServices todoServices) {
+        this.todoServices = todoServices;
+    }
+
+    @GetMapping()
+    public Mono<TodoPageResponse> allTodos(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) TodoStatus status) {
+        return todoServices.allTodos(after, limit, status);
+    }
+
+    // Un objeto JSON por linea; las filas se leen de la base conforme el cliente las consume
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TodoResponse> exportTodos() {
+        return todoServices.exportTodos();
+    }
+
+    @GetMapping("{idTodo}")
+    public Mono<ResponseEntity<TodoResponse>> findTodoById(@PathVariable int idTodo) {
+        return todoServices.findById(idTodo)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<TodoResponse>> createTodo(@RequestBody @Valid CreateTodoRequest createTodoRequest,
+            ServerHttpRequest request) {
+        return todoServices.createTodo(createTodoRequest).map(saved -> {
+            URI location = UriComponentsBuilder.fromUri(request.getURI())
+                    .path("/{id}")
+                    .buildAndExpand(saved.id())
+                    .toUri();
+            return ResponseEntity.created(location).body(saved);
+        });
+    }
+
+    @PutMapping("update/{idTodo}")
+    public Mono<ResponseEntity<TodoResponse>> updateTodoById(@PathVariable int idTodo,
+            @RequestBody @Valid UpdateTodoRequest entity) {
+        return todoServices.updateTodoById(idTodo, entity)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("delete/{idTodo}")
+    public Mono<ResponseEntity<Void>> deleteTodoById(@PathVariable int idTodo) {
+        return todoServices.deleteTodoById(idTodo)
+                .map(deleted -> deleted
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+    // JSON por defecto o NDJSON con Accept: application/x-ndjson para ir recibiendo resultados
+    @GetMapping(value = "search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TodoResponse> findTodosByTitle(@RequestParam("q") String queryParam,
+            @RequestParam(defaultValue = "20") int limit) {
+        return todoServices.findTodosByTitle(queryParam, limit);
+    }
+}
@@ -0,0 +1,143 @@
+package com.alumnositm.todo.controllers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.alumnositm.todo.dtos.request.BulkDeleteRequest;
+import com.alumnositm.todo.dtos.request.BulkStatusRequest;
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.response.BulkCreateResponse;
+import com.alumnositm.todo.dtos.response.BulkItemResult;
+import com.alumnositm.todo.dtos.response.BulkUpdateResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.services.TodoServices;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/todos/bulk")
+public class TodoBulkController {
+
+    private final TodoServices todoServices;
+    private final ObjectReader createReader;
+    private final Validator validator;
+    private final int batchSize;
+
+    public TodoBulkController(TodoServices todoServices, ObjectMapper objectMapper, Validator validator,
+            @Value("${todos.bulk.batch-size:500}") int batchSize) {
+        this.todoServices = todoServices;
+        this.createReader = objectMapper.readerFor(CreateTodoRequest.class);
+        this.validator = validator;
+        this.batchSize = batchSize;
+    }
+
+    // Acepta un arreglo JSON o NDJSON (un CreateTodoRequest por linea). Se lee y valida elemento por
+    // elemento y los validos se insertan en lotes de batchSize, sin cargar toda la peticion en memoria.
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkCreateResponse> createTodos(InputStream body) {
+        List<BulkItemResult> results = new ArrayList<>();
+        List<CreateTodoRequest> batch = new ArrayList<>(batchSize);
+        List<BulkItemResult> batchResults = new ArrayList<>(batchSize);
+        int index = 0;
+        try (MappingIterator<CreateTodoRequest> items = createReader.readValues(body)) {
+            while (items.hasNextValue()) {
+                CreateTodoRequest request = items.nextValue();
+                BulkItemResult result = new BulkItemResult(index++, HttpStatus.CREATED.value(), null, null);
+                results.add(result);
+                List<String> errors = validate(request);
+                if (!errors.isEmpty()) {
+                    result.setStatus(HttpStatus.BAD_REQUEST.value());
+                    result.setErrors(errors);
+                    continue;
+                }
+                batch.add(request);
+                batchResults.add(result);
+                if (batch.size() == batchSize) {
+                    insertBatch(batch, batchResults);
+                }
+            }
+        } catch (IOException e) {
+            // Los lotes anteriores ya quedaron guardados; el lote pendiente se descarta
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "JSON invalido en el elemento " + index, e);
+        }
+        insertBatch(batch, batchResults);
+
+        int created = countCreated(results);
+        return ResponseEntity.ok(new BulkCreateResponse(created, results.size() - created, results));
+    }
+
+    // Cambia el estado de los ids indicados o de todos los que cumplen el filtro
+    @PostMapping("status")
+    public ResponseEntity<BulkUpdateResponse> updateStatus(@RequestBody @Valid BulkStatusRequest request) {
+        long affected = todoServices.updateStatus(request.getIds(), request.getFilter(), request.getStatus());
+        return ResponseEntity.ok(new BulkUpdateResponse(affected));
+    }
+
+    // Borra los ids indicados o todos los que cumplen el filtro
+    @PostMapping("delete")
+    public ResponseEntity<BulkUpdateResponse> deleteTodos(@RequestBody @Valid BulkDeleteRequest request) {
+        long affected = todoServices.deleteTodos(request.getIds(), request.getFilter());
+        return ResponseEntity.ok(new BulkUpdateResponse(affected));
+    }
+
+    private void insertBatch(List<CreateTodoRequest> batch, List<BulkItemResult> batchResults) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<TodoEntity> saved = todoServices.createTodos(batch);
+            for (int i = 0; i < saved.size(); i++) {
+                batchResults.get(i).setId(saved.get(i).getId());
+            }
+        } catch (DataAccessException e) {
+            log.error("Fallo el insert de un lote de {} todos", batch.size(), e);
+            for (BulkItemResult result : batchResults) {
+                result.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                result.setErrors(List.of("No se pudo guardar el todo"));
+            }
+        }
+        batch.clear();
+        batchResults.clear();
+    }
+
+    private List<String> validate(CreateTodoRequest request) {
+        if (request == null) {
+            return List.of("El elemento no puede ser null");
+        }
+        Set<ConstraintViolation<CreateTodoRequest>> violations = validator.validate(request);
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().toList();
+    }
+
+    private static int countCreated(List<BulkItemResult> results) {
+        int created = 0;
+        for (BulkItemResult result : results) {
+            if (result.getStatus() == HttpStatus.CREATED.value()) {
+                created++;
+            }
+        }
+        return created;
+    }
+}
@@ -0,0 +1,32 @@
+package com.alumnositm.todo.controllers;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.alumnositm.todo.dtos.response.TodoChangesResponse;
+import com.alumnositm.todo.services.TodoServices;
+
+// Feed de cambios para sincronizar de forma incremental: el cliente guarda nextSince y lo manda
+// en la siguiente consulta. Solo cubre todos.outbox.retention; mas atras hay que releer la lista
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/todos")
+public class TodoChangesController {
+
+    private final TodoServices todoServices;
+
+    public TodoChangesController(TodoServices todoServices) {
+        this.todoServices = todoServices;
+    }
+
+    @GetMapping("changes")
+    public ResponseEntity<TodoChangesResponse> changes(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(todoServices.changesSince(since, limit));
+    }
+}
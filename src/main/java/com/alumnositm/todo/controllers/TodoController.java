@@ -1,25 +1,59 @@
 package com.alumnositm.todo.controllers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.alumnositm.todo.dtos.request.CreateTodoRequest;
 import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
-import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.dtos.response.TodoColumnsResponse;
+import com.alumnositm.todo.dtos.response.TodoIngestResponse;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.dtos.response.TodoStatsResponse;
+import com.alumnositm.todo.helpers.ETags;
+import com.alumnositm.todo.helpers.IdempotencyKeys;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.ingest.WriteBehindIngestor;
+import com.alumnositm.todo.protobuf.Todo;
+import com.alumnositm.todo.protobuf.TodoProtoMapper;
 import com.alumnositm.todo.services.TodoServices;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.google.protobuf.CodedOutputStream;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,52 +63,211 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/todos")
 public class TodoController {
     
+    static final String CBOR_SEQ_VALUE = "application/cbor-seq";
+    static final MediaType CBOR_SEQ = MediaType.parseMediaType(CBOR_SEQ_VALUE);
+    static final String PROTOBUF_DELIMITED_VALUE = "application/x-protobuf;delimited=true";
+    static final MediaType PROTOBUF_DELIMITED = MediaType.parseMediaType(PROTOBUF_DELIMITED_VALUE);
+
     private final TodoServices todoServices;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper = new CBORMapper();
+    // Solo con todos.ingest.mode=write-behind; si no, null y el alta es sincrona
+    private final WriteBehindIngestor writeBehindIngestor;
 
-    public TodoController(TodoServices todoServices) {
+    public TodoController(TodoServices todoServices, ObjectMapper objectMapper,
+            @Nullable WriteBehindIngestor writeBehindIngestor) {
         this.todoServices = todoServices;
+        this.objectMapper = objectMapper;
+        this.writeBehindIngestor = writeBehindIngestor;
     }
 
+    // Listas y busquedas: el ETag es el contador de cambios de la tabla y se compara antes de leer
+    // los todos; con If-None-Match vigente se responde 304 con una sola consulta. Sin If-None-Match
+    // el contador se lee igual (max(seq) del outbox, por la llave primaria): es el ETag con el que el
+    // cliente revalida despues, y leerlo antes de la pagina evita un ETag mas nuevo que los datos.
+    // ?fields=title,status lee y regresa solo esas columnas (id siempre va); ?compact=true regresa
+    // la pagina por columnas (TodoColumnsResponse).
+    // JSON, CBOR y Protobuf comparten URL y ETag, por eso toda respuesta negociada lleva Vary: Accept
+    // (tambien el 304): una cache compartida no debe responder a un cliente JSON con un cuerpo Protobuf
     @GetMapping()
-    public ResponseEntity<List<TodoEntity>> allTodos() {
-        return ResponseEntity.ok(todoServices.allTodos());
+    public ResponseEntity<Object> allTodos(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) TodoStatus status,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean compact,
+            WebRequest request, HttpServletResponse response) {
+        Set<TodoField> selected = parseFields(fields);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        String etag = ETags.ofTable(todoServices.changeVersion());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        TodoPageResponse page = todoServices.allTodos(after, limit, status, selected);
+        return ResponseEntity.ok().eTag(etag).body(compact ? TodoColumnsResponse.of(selected, page) : page);
+    }
+
+    // Un todo tras otro, escritos conforme llegan las filas del cursor, en el formato que pida el
+    // Accept: NDJSON (por defecto), secuencia CBOR (RFC 8742) o mensajes Protobuf con su longitud
+    @GetMapping(value = "export", produces = {MediaType.APPLICATION_NDJSON_VALUE, CBOR_SEQ_VALUE,
+            PROTOBUF_DELIMITED_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportTodos(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType format = exportFormat(accept);
+        StreamingResponseBody body;
+        if (format == PROTOBUF_DELIMITED) {
+            body = out -> {
+                CodedOutputStream coded = CodedOutputStream.newInstance(out);
+                todoServices.exportTodos(todo -> {
+                    Todo message = TodoProtoMapper.toMessage(todo);
+                    try {
+                        coded.writeUInt32NoTag(message.getSerializedSize());
+                        message.writeTo(coded);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                coded.flush();
+            };
+        } else {
+            ObjectMapper mapper = format == CBOR_SEQ ? cborMapper : objectMapper;
+            ObjectWriter writer = mapper.writerFor(TodoResponse.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            boolean ndjson = format == MediaType.APPLICATION_NDJSON;
+            body = out -> {
+                try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                    if (ndjson) {
+                        generator.setRootValueSeparator(null);
+                    }
+                    todoServices.exportTodos(todo -> {
+                        try {
+                            writer.writeValue(generator, todo);
+                            if (ndjson) {
+                                generator.writeRaw('\n');
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            };
+        }
+        return ResponseEntity.ok()
+                .contentType(format)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    // El primero (por calidad) de los tipos del Accept que podemos escribir; */* o sin Accept = NDJSON
+    private static MediaType exportFormat(String accept) {
+        List<MediaType> accepted = accept == null ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(accept);
+        accepted = new ArrayList<>(accepted);
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : accepted) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                return MediaType.APPLICATION_NDJSON;
+            }
+            if (mediaType.isCompatibleWith(CBOR_SEQ)) {
+                return CBOR_SEQ;
+            }
+            if (mediaType.isCompatibleWith(PROTOBUF_DELIMITED)) {
+                return PROTOBUF_DELIMITED;
+            }
+        }
+        return MediaType.APPLICATION_NDJSON;
     }
 
     @GetMapping("{idTodo}")
-    public ResponseEntity<TodoEntity> findTodoById(@PathVariable int idTodo) {
-        TodoEntity todo = todoServices.findById(idTodo);
+    public ResponseEntity<TodoResponse> findTodoById(@PathVariable int idTodo) {
+        TodoResponse todo = todoServices.findById(idTodo);
         if(todo==null){
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(todo);
+        // Con If-None-Match igual a la version Spring responde 304 sin serializar (viene de la cache)
+        return ResponseEntity.ok().eTag(ETags.ofVersion(todo.version())).varyBy(HttpHeaders.ACCEPT).body(todo);
         
     }
     
 
     @PostMapping()
-    public ResponseEntity<TodoEntity> createTodo(@RequestBody @Valid CreateTodoRequest createTodoRequest) {
-        TodoEntity saved = todoServices.createTodo(createTodoRequest);
+    public ResponseEntity<Object> createTodo(@RequestBody @Valid CreateTodoRequest createTodoRequest,
+            @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey != null && !IdempotencyKeys.isValid(idempotencyKey)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key invalida");
+        }
+        if (writeBehindIngestor != null) {
+            return ingest(createTodoRequest, idempotencyKey);
+        }
+        TodoResponse saved = todoServices.createTodo(createTodoRequest);
 
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
                 .path("/{id}")
-                .buildAndExpand(saved.getId())
+                .buildAndExpand(saved.id())
                 .toUri();
 
-        return ResponseEntity.created(location).body(saved);
+        return ResponseEntity.created(location).eTag(ETags.ofVersion(saved.version())).body(saved);
+    }
+
+    // Write-behind: 202 en cuanto el alta esta en el log; Location apunta a su estado. Sin lugar en
+    // la cola ni en el log dentro del tiempo de espera se responde 503 para que el cliente reintente
+    private ResponseEntity<Object> ingest(CreateTodoRequest createTodoRequest, String idempotencyKey) {
+        String key = idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString();
+        if (!writeBehindIngestor.submit(key, createTodoRequest)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/ingest/{key}")
+                .buildAndExpand(key)
+                .toUri();
+        return ResponseEntity.accepted().location(location)
+                .body(new TodoIngestResponse(key, TodoIngestResponse.PENDING, null));
+    }
+
+    // Estado de un alta write-behind: 202 mientras esta en la cola, 303 al todo cuando ya se aplico
+    @GetMapping("ingest/{key}")
+    public ResponseEntity<TodoIngestResponse> ingestStatus(@PathVariable String key) {
+        if (writeBehindIngestor == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (writeBehindIngestor.isPending(key)) {
+            return ResponseEntity.accepted().body(new TodoIngestResponse(key, TodoIngestResponse.PENDING, null));
+        }
+        return writeBehindIngestor.findApplied(key)
+                .map(id -> ResponseEntity.status(HttpStatus.SEE_OTHER)
+                        .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                                .path("/api/v1/todos/{id}").buildAndExpand(id).toUri())
+                        .body(new TodoIngestResponse(key, TodoIngestResponse.APPLIED, id)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
     
 
     @PutMapping("update/{idTodo}")
-    public ResponseEntity<TodoEntity> putMethodName(@PathVariable int idTodo, @RequestBody UpdateTodoRequest entity) {
-        TodoEntity todo = todoServices.updateTodoById(idTodo,entity);
+    public ResponseEntity<TodoResponse> putMethodName(@PathVariable int idTodo, @RequestBody UpdateTodoRequest entity,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // Sin If-Match (o con *) se actualiza sin condicion; con un ETag solo si la version coincide
+        Long expectedVersion = null;
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            expectedVersion = ETags.parseVersion(ifMatch);
+            if (expectedVersion == null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+        }
+        TodoResponse todo;
+        try {
+            todo = todoServices.updateTodoById(idTodo, entity, expectedVersion);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         if(todo==null){
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(todo);
+        return ResponseEntity.ok().eTag(ETags.ofVersion(todo.version())).body(todo);
     }
 
     @DeleteMapping("delete/{idTodo}")
@@ -87,9 +280,31 @@ public class TodoController {
     }
 
     @GetMapping("search")
-    public ResponseEntity<List<TodoEntity>> findTodosByTitle(@RequestParam("q") String queryParam){
-        List<TodoEntity> todos =todoServices.findTodosByTitle(queryParam);
-        return ResponseEntity.ok(todos);
+    public ResponseEntity<List<TodoResponse>> findTodosByTitle(@RequestParam("q") String queryParam,
+            @RequestParam(defaultValue = "20") int limit, @RequestParam(required = false) String fields,
+            WebRequest request, HttpServletResponse response){
+        Set<TodoField> selected = parseFields(fields);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        String etag = ETags.ofTable(todoServices.changeVersion());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<TodoResponse> todos =todoServices.findTodosByTitle(queryParam, limit, selected);
+        return ResponseEntity.ok().eTag(etag).body(todos);
+    }
+
+    // Conteo por estado desde los contadores en memoria, sin consultar la tabla
+    @GetMapping("stats")
+    public ResponseEntity<TodoStatsResponse> stats() {
+        return ResponseEntity.ok(todoServices.statusCounts());
+    }
+
+    private static Set<TodoField> parseFields(String fields) {
+        try {
+            return TodoField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
     }
 
 
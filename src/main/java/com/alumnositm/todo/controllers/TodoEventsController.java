@@ -0,0 +1,35 @@
+package com.alumnositm.todo.controllers;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.alumnositm.todo.sse.TodoEventBroadcaster;
+
+// Cambios en vivo por Server-Sent Events: "todo" (alta/cambio/baja de uno), "bulk" (un bloque de
+// una operacion masiva) y "resync" (el cliente se atraso y debe releer la lista)
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/todos")
+public class TodoEventsController {
+
+    private final TodoEventBroadcaster broadcaster;
+
+    public TodoEventsController(TodoEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(value = "events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events() {
+        SseEmitter emitter = broadcaster.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+}
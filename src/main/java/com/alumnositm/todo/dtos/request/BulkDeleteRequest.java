@@ -0,0 +1,27 @@
+package com.alumnositm.todo.dtos.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteRequest {
+
+    @Size(max = 100000, message = "No se pueden mandar mas de 100000 ids")
+    private List<Long> ids;
+
+    @Valid
+    private TodoFilter filter;
+
+    @AssertTrue(message = "Se debe mandar ids o filter, pero no ambos")
+    public boolean isTargetValid() {
+        return (ids == null) != (filter == null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.alumnositm.todo.dtos.request;
+
+import java.util.List;
+
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.validators.ValidTodoStatus;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusRequest {
+
+    @Size(max = 100000, message = "No se pueden mandar mas de 100000 ids")
+    private List<Long> ids;
+
+    @Valid
+    private TodoFilter filter;
+
+    @ValidTodoStatus(optional = false, message = "El estado debe ser PENDING, COMPLETED, IN_PROGRESS o CANCELLED")
+    private TodoStatus status;
+
+    @AssertTrue(message = "Se debe mandar ids o filter, pero no ambos")
+    public boolean isTargetValid() {
+        return (ids == null) != (filter == null);
+    }
+}
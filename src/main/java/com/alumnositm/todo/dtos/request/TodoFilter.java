@@ -0,0 +1,26 @@
+package com.alumnositm.todo.dtos.request;
+
+import com.alumnositm.todo.helpers.TodoStatus;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Criterios para las operaciones masivas; los que vienen se combinan con AND
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoFilter {
+
+    private TodoStatus status;
+
+    @Size(max = 255, message = "El prefijo no puede tener mas de 255 caracteres")
+    private String titlePrefix;
+
+    @AssertTrue(message = "El filtro debe tener al menos un criterio (status o titlePrefix)")
+    public boolean isNotEmpty() {
+        return status != null || (titlePrefix != null && !titlePrefix.isBlank());
+    }
+}
@@ -0,0 +1,19 @@
+package com.alumnositm.todo.dtos.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateResponse {
+
+    private int created;
+
+    private int failed;
+
+    private List<BulkItemResult> items;
+}
@@ -0,0 +1,25 @@
+package com.alumnositm.todo.dtos.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resultado de un elemento de una operacion masiva; index es su posicion en la peticion
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+
+    private int index;
+
+    private int status;
+
+    private Long id;
+
+    private List<String> errors;
+}
@@ -0,0 +1,20 @@
+package com.alumnositm.todo.dtos.response;
+
+import java.util.List;
+
+import com.alumnositm.todo.outbox.OutboxEvent;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoChangesResponse {
+
+    private List<OutboxEvent> changes;
+
+    // Valor para el parametro "since" de la siguiente consulta (el mismo si no hubo cambios)
+    private long nextSince;
+}
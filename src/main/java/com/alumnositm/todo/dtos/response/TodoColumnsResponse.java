@@ -0,0 +1,73 @@
+package com.alumnositm.todo.dtos.response;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Pagina en formato columnar (?compact=true): un arreglo por propiedad en lugar de un objeto por
+// todo, asi los nombres de las propiedades se escriben una vez y no en cada fila.
+// {"fields":["id","title"],"columns":{"id":[1,2],"title":["a","b"]},"nextCursor":2}
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoColumnsResponse {
+
+    private List<String> fields;
+
+    // Mismo orden que fields; la fila i es el elemento i de cada arreglo
+    private Map<String, Object> columns;
+
+    private Long nextCursor;
+
+    public static TodoColumnsResponse of(Set<TodoField> fields, TodoPageResponse page) {
+        List<TodoResponse> items = page.getItems();
+        List<String> names = new ArrayList<>(fields.size());
+        Map<String, Object> columns = new LinkedHashMap<>();
+        for (TodoField field : TodoField.values()) {
+            if (fields.contains(field)) {
+                names.add(field.column());
+                columns.put(field.column(), column(field, items));
+            }
+        }
+        return new TodoColumnsResponse(names, columns, page.getNextCursor());
+    }
+
+    // Arreglos primitivos para los numeros: Jackson los escribe sin pasar por Long
+    private static Object column(TodoField field, List<TodoResponse> items) {
+        int size = items.size();
+        switch (field) {
+            case ID, VERSION -> {
+                long[] values = new long[size];
+                for (int i = 0; i < size; i++) {
+                    TodoResponse todo = items.get(i);
+                    values[i] = field == TodoField.ID ? todo.id() : todo.version();
+                }
+                return values;
+            }
+            case STATUS -> {
+                TodoStatus[] values = new TodoStatus[size];
+                for (int i = 0; i < size; i++) {
+                    values[i] = items.get(i).status();
+                }
+                return values;
+            }
+            default -> {
+                String[] values = new String[size];
+                for (int i = 0; i < size; i++) {
+                    TodoResponse todo = items.get(i);
+                    values[i] = field == TodoField.TITLE ? todo.title() : todo.description();
+                }
+                return values;
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.alumnositm.todo.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Estado de un alta aceptada por la ingesta write-behind: PENDING mientras sigue en la cola,
+// APPLIED cuando ya esta en la base (con el id del todo)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoIngestResponse {
+
+    public static final String PENDING = "PENDING";
+    public static final String APPLIED = "APPLIED";
+
+    private String key;
+
+    private String status;
+
+    private Long id;
+}
@@ -0,0 +1,18 @@
+package com.alumnositm.todo.dtos.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoPageResponse {
+
+    private List<TodoResponse> items;
+
+    // Valor para el parametro "after" de la siguiente pagina, null cuando ya no hay mas
+    private Long nextCursor;
+}
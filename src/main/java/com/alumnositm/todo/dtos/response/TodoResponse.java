@@ -0,0 +1,31 @@
+package com.alumnositm.todo.dtos.response;
+
+import java.util.Set;
+
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Lo que la API regresa de un todo. Las consultas de lectura lo llenan directo con una proyeccion
+// (select new ...) o desde el ResultSet, asi Hibernate no crea entidades administradas ni guarda
+// su copia para el dirty checking. Es inmutable, por eso se puede compartir desde la cache.
+// Con ?fields= las propiedades que no se pidieron quedan en null y no se escriben
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TodoResponse(Long id, String title, String description, TodoStatus status, Long version) {
+
+    public static TodoResponse from(TodoEntity todo) {
+        return new TodoResponse(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getStatus(),
+                todo.getVersion());
+    }
+
+    // Copia con solo las propiedades indicadas, para las fuentes que no pueden elegir columnas
+    public TodoResponse only(Set<TodoField> fields) {
+        return new TodoResponse(
+                fields.contains(TodoField.ID) ? id : null,
+                fields.contains(TodoField.TITLE) ? title : null,
+                fields.contains(TodoField.DESCRIPTION) ? description : null,
+                fields.contains(TodoField.STATUS) ? status : null,
+                fields.contains(TodoField.VERSION) ? version : null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.alumnositm.todo.dtos.response;
+
+import java.time.Instant;
+import java.util.Map;
+
+import com.alumnositm.todo.helpers.TodoStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// GET /api/v1/todos/stats: todos por estado (todos los estados, aunque tengan 0) y el total
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoStatsResponse {
+
+    private Map<TodoStatus, Long> counts;
+
+    private long total;
+
+    // Ultima vez que los contadores se compararon con la base; null si aun no se ha hecho
+    private Instant reconciledAt;
+}
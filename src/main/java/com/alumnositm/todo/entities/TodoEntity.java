@@ -1,7 +1,12 @@
 package com.alumnositm.todo.entities;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
 import com.alumnositm.todo.helpers.TodoStatus;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -11,12 +16,15 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "todos")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -45,4 +53,14 @@ public class TodoEntity {
     @Column(nullable = false)
     private TodoStatus status;
 
+    // Sube en cada cambio; es el ETag de GET /{id} y lo que compara If-Match en el PUT.
+    // El default deja en 0 las filas insertadas por JDBC y las que ya existian al agregar la columna
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    public TodoEntity(Long id, String title, String description, TodoStatus status) {
+        this(id, title, description, status, null);
+    }
 }
@@ -0,0 +1,46 @@
+package com.alumnositm.todo.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Respuestas guardadas de los POST con Idempotency-Key (todos.idempotency.store=database).
+// Solo se mapea para que Hibernate cree la tabla; se usa con JdbcIdempotencyStore
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "todo_idempotency",
+indexes = {
+    @Index(name = "idx_idempotency_created", columnList = "created_at")
+}
+)
+public class TodoIdempotencyEntity {
+
+    // Ruta del POST mas la llave del cliente
+    @Id
+    @Column(name = "idem_key", length = 200)
+    private String idemKey;
+
+    @Column(nullable = false)
+    private Integer status;
+
+    @Column(nullable = false, length = 1000)
+    private String headers;
+
+    @Column(nullable = false, length = 65536)
+    private byte[] body;
+
+    @Column(nullable = false, length = 32)
+    private byte[] fingerprint;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
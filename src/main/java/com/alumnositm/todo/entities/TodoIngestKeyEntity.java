@@ -0,0 +1,37 @@
+package com.alumnositm.todo.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Llaves de los altas aplicadas por la ingesta write-behind, escritas en la misma transaccion que
+// el todo. Al reproducir el log despues de una caida las que ya estan aqui se saltan (exactamente
+// una vez). Solo se mapea para que Hibernate cree la tabla; se usa con TodoIngestKeyRepository (JDBC)
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "todo_ingest_keys",
+indexes = {
+    @Index(name = "idx_ingest_keys_created", columnList = "created_at")
+}
+)
+public class TodoIngestKeyEntity {
+
+    @Id
+    @Column(name = "ingest_key", length = 100)
+    private String ingestKey;
+
+    @Column(name = "todo_id", nullable = false)
+    private Long todoId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,54 @@
+package com.alumnositm.todo.entities;
+
+import java.time.Instant;
+
+import com.alumnositm.todo.events.TodoChangedEvent;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Tabla outbox: un registro por cambio de un todo, escrito en la misma transaccion que el cambio.
+// Solo se mapea para que Hibernate cree la tabla; se lee y escribe con TodoOutboxRepository (JDBC)
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "todo_outbox",
+indexes = {
+    @Index(name = "idx_outbox_published", columnList = "published_at, seq")
+}
+)
+public class TodoOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "todo_id", nullable = false)
+    private Long todoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TodoChangedEvent.Type type;
+
+    // JSON del todo despues del cambio; null en las bajas
+    @Column(length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // null mientras el relay no lo haya entregado al sink
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
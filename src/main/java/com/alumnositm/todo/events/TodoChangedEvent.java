@@ -0,0 +1,25 @@
+package com.alumnositm.todo.events;
+
+import com.alumnositm.todo.entities.TodoEntity;
+
+// Se publica despues de cada alta, cambio o baja de un todo; "todo" es null en las bajas
+public record TodoChangedEvent(Type type, long id, TodoEntity todo) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TodoChangedEvent created(TodoEntity todo) {
+        return new TodoChangedEvent(Type.CREATED, todo.getId(), todo);
+    }
+
+    public static TodoChangedEvent updated(TodoEntity todo) {
+        return new TodoChangedEvent(Type.UPDATED, todo.getId(), todo);
+    }
+
+    public static TodoChangedEvent deleted(long id) {
+        return new TodoChangedEvent(Type.DELETED, id, null);
+    }
+}
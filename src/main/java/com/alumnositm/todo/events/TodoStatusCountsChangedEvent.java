@@ -0,0 +1,47 @@
+package com.alumnositm.todo.events;
+
+import com.alumnositm.todo.helpers.TodoStatus;
+
+// Cuanto cambio el numero de todos en cada estado con una escritura; deltas va por ordinal de
+// TodoStatus. Se publica junto con TodoChangedEvent/TodosBulkChangedEvent para TodoStatusCounters
+public record TodoStatusCountsChangedEvent(long[] deltas) {
+
+    public static TodoStatusCountsChangedEvent created(TodoStatus status, int count) {
+        long[] deltas = new long[TodoStatus.values().length];
+        deltas[status.ordinal()] = count;
+        return new TodoStatusCountsChangedEvent(deltas);
+    }
+
+    public static TodoStatusCountsChangedEvent moved(TodoStatus from, TodoStatus to) {
+        long[] deltas = new long[TodoStatus.values().length];
+        deltas[from.ordinal()]--;
+        deltas[to.ordinal()]++;
+        return new TodoStatusCountsChangedEvent(deltas);
+    }
+
+    public static TodoStatusCountsChangedEvent deleted(TodoStatus from) {
+        long[] deltas = new long[TodoStatus.values().length];
+        deltas[from.ordinal()] = -1;
+        return new TodoStatusCountsChangedEvent(deltas);
+    }
+
+    // previous: cuantos de los todos cambiados estaban en cada estado (ChangedTodos.previousCounts)
+    public static TodoStatusCountsChangedEvent moved(long[] previous, TodoStatus to) {
+        long[] deltas = new long[previous.length];
+        long total = 0;
+        for (int i = 0; i < previous.length; i++) {
+            deltas[i] = -previous[i];
+            total += previous[i];
+        }
+        deltas[to.ordinal()] += total;
+        return new TodoStatusCountsChangedEvent(deltas);
+    }
+
+    public static TodoStatusCountsChangedEvent deleted(long[] previous) {
+        long[] deltas = new long[previous.length];
+        for (int i = 0; i < previous.length; i++) {
+            deltas[i] = -previous[i];
+        }
+        return new TodoStatusCountsChangedEvent(deltas);
+    }
+}
@@ -0,0 +1,30 @@
+package com.alumnositm.todo.events;
+
+import java.util.List;
+
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Se publica por cada alta masiva y por cada bloque de un cambio de estado o baja masivos; status es
+// el estado en que quedan (null en bajas). todos solo va en las altas, para quien necesita titulo y
+// descripcion (indice, cache de busquedas); el frame SSE lleva solo los ids
+public record TodosBulkChangedEvent(TodoChangedEvent.Type type, long[] ids, TodoStatus status,
+        @JsonIgnore List<TodoEntity> todos) {
+
+    public static TodosBulkChangedEvent created(List<TodoEntity> todos) {
+        long[] ids = new long[todos.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = todos.get(i).getId();
+        }
+        return new TodosBulkChangedEvent(TodoChangedEvent.Type.CREATED, ids, TodoStatus.PENDING, todos);
+    }
+
+    public static TodosBulkChangedEvent statusChanged(long[] ids, TodoStatus status) {
+        return new TodosBulkChangedEvent(TodoChangedEvent.Type.UPDATED, ids, status, List.of());
+    }
+
+    public static TodosBulkChangedEvent deleted(long[] ids) {
+        return new TodosBulkChangedEvent(TodoChangedEvent.Type.DELETED, ids, null, List.of());
+    }
+}
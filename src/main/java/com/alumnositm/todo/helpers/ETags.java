@@ -0,0 +1,31 @@
+package com.alumnositm.todo.helpers;
+
+// ETags de la API. Un todo usa su columna version (ETag fuerte); las listas y busquedas usan la
+// version de la tabla (ETag debil: con la misma version la respuesta es equivalente, no
+// necesariamente identica byte a byte)
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String ofVersion(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String ofTable(String changeVersion) {
+        return "W/\"t" + changeVersion + "\"";
+    }
+
+    // Version de un If-Match con un solo ETag fuerte ("5"); null si no tiene ese formato
+    public static Long parseVersion(String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.length() < 3 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.alumnositm.todo.helpers;
+
+// Header Idempotency-Key de los POST. La llave la elige el cliente; aqui solo se limita su forma
+public final class IdempotencyKeys {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final int MAX_LENGTH = 100;
+
+    private IdempotencyKeys() {
+    }
+
+    // ASCII visible, sin espacios, hasta MAX_LENGTH caracteres (el largo de las columnas de llaves)
+    public static boolean isValid(String key) {
+        if (key.isEmpty() || key.length() > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c <= ' ' || c > '~') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,28 @@
+package com.alumnositm.todo.helpers;
+
+// Patrones para LIKE con los comodines del usuario escapados (usar con "escape '\'")
+public final class LikePatterns {
+
+    private LikePatterns() {
+    }
+
+    public static String contains(String text) {
+        return "%" + escape(text) + "%";
+    }
+
+    public static String startsWith(String text) {
+        return escape(text) + "%";
+    }
+
+    public static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
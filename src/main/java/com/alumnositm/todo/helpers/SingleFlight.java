@@ -0,0 +1,66 @@
+package com.alumnositm.todo.helpers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Llamadas identicas simultaneas comparten una sola ejecucion: la primera (lider) la hace y las
+// que llegan mientras esta en curso esperan su resultado, o su excepcion. Al terminar la llave se
+// quita, asi la siguiente llamada vuelve a ejecutar (no es una cache). Sin candados en el camino
+// comun: get y putIfAbsent de ConcurrentHashMap sobre una llave libre son lecturas y un CAS
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> running = inFlight.get(key);
+        if (running == null) {
+            CompletableFuture<V> execution = new CompletableFuture<>();
+            running = inFlight.putIfAbsent(key, execution);
+            if (running == null) {
+                return lead(key, execution, loader);
+            }
+        }
+        coalesced.increment();
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> execution, Supplier<V> loader) {
+        executed.increment();
+        try {
+            V value = loader.get();
+            execution.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    // Llamadas que ejecutaron el loader
+    public long executed() {
+        return executed.sum();
+    }
+
+    // Llamadas que recibieron el resultado de otra
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    // coalesced / total de llamadas; 0 si no hubo ninguna
+    public double coalescingRatio() {
+        long shared = coalesced.sum();
+        long total = shared + executed.sum();
+        return total == 0 ? 0.0 : (double) shared / total;
+    }
+}
@@ -0,0 +1,57 @@
+package com.alumnositm.todo.helpers;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+
+// Propiedades de un todo que se pueden pedir con ?fields=; el nombre en minusculas es a la vez
+// la columna de la tabla y la propiedad del JSON
+public enum TodoField {
+    ID,
+    TITLE,
+    DESCRIPTION,
+    STATUS,
+    VERSION;
+
+    public static final Set<TodoField> ALL = Collections.unmodifiableSet(EnumSet.allOf(TodoField.class));
+
+    private final String column = name().toLowerCase(Locale.ROOT);
+
+    public String column() {
+        return column;
+    }
+
+    // "title,status" -> {ID, TITLE, STATUS}; null o vacio = todas. id siempre va porque es el
+    // cursor de la siguiente pagina. Un nombre desconocido lanza IllegalArgumentException
+    public static Set<TodoField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<TodoField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                selected.add(valueOf(trimmed.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Campo desconocido: " + trimmed);
+            }
+        }
+        return selected;
+    }
+
+    // Lista de columnas para el select; solo salen de la enum, nunca del texto del usuario
+    public static String columns(Set<TodoField> fields) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (TodoField field : values()) {
+            if (fields.contains(field)) {
+                joiner.add(field.column);
+            }
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,253 @@
+package com.alumnositm.todo.idempotency;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.alumnositm.todo.helpers.IdempotencyKeys;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Idempotency-Key en los POST de la API, antes de llegar al controlador.
+// - Si la llave ya tiene respuesta guardada se repite tal cual (201, Location, cuerpo) con
+//   Idempotent-Replayed: true, sin ejecutar nada.
+// - Si la misma llave esta en curso, la peticion espera ese resultado en lugar de ejecutar otra vez.
+// - Solo se guardan las respuestas 2xx; un error o un 503 se puede reintentar con la misma llave.
+// - La llave va ligada al cuerpo (SHA-256): reusarla con otra peticion responde 422.
+// El cuerpo se lee en streaming tambien al ejecutar; la huella se calcula conforme se consume
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String REPLAYED = "Idempotent-Replayed";
+
+    private final IdempotencyStore store;
+    private final Duration inFlightTimeout;
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter coalesced;
+    private final Counter mismatched;
+
+    public IdempotencyFilter(IdempotencyStore store, Duration inFlightTimeout, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.inFlightTimeout = inFlightTimeout;
+        this.executed = meterRegistry.counter("todos.idempotency.requests", "result", "executed");
+        this.replayed = meterRegistry.counter("todos.idempotency.requests", "result", "replayed");
+        this.coalesced = meterRegistry.counter("todos.idempotency.requests", "result", "coalesced");
+        this.mismatched = meterRegistry.counter("todos.idempotency.requests", "result", "mismatched");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(IdempotencyKeys.HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IdempotencyKeys.HEADER);
+        if (!IdempotencyKeys.isValid(idempotencyKey)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Idempotency-Key invalida");
+            return;
+        }
+        String key = request.getRequestURI() + ' ' + idempotencyKey;
+        IdempotentResponse stored = store.find(key);
+        if (stored != null) {
+            replay(stored, fingerprint(request.getInputStream()), response, replayed);
+            return;
+        }
+
+        CompletableFuture<IdempotentResponse> execution = new CompletableFuture<>();
+        CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            awaitAndReplay(running, request, response);
+            return;
+        }
+        try {
+            // Otra ejecucion pudo terminar entre el find y el putIfAbsent
+            stored = store.find(key);
+            if (stored != null) {
+                execution.complete(stored);
+                replay(stored, fingerprint(request.getInputStream()), response, replayed);
+                return;
+            }
+            ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+            IdempotentResponse result = execute(request, captured, chain);
+            try {
+                // Se guarda antes de enviar el cuerpo: si el cliente recibio la respuesta, un
+                // reintento despues de un reinicio ya la encuentra
+                if (HttpStatus.valueOf(result.status()).is2xxSuccessful()) {
+                    store.save(key, result);
+                }
+            } finally {
+                captured.copyBodyToResponse();
+            }
+            execution.complete(result);
+        } finally {
+            // Si execute lanzo, los que esperan reciben null y responden 409
+            execution.complete(null);
+            inFlight.remove(key, execution);
+        }
+    }
+
+    private IdempotentResponse execute(HttpServletRequest request, ContentCachingResponseWrapper captured,
+            FilterChain chain) throws ServletException, IOException {
+        DigestingRequest digesting = new DigestingRequest(request);
+        chain.doFilter(digesting, captured);
+        byte[] fingerprint = digesting.finish();
+        List<String> headers = new ArrayList<>();
+        for (String name : IdempotentResponse.REPLAYED_HEADERS) {
+            String value = name.equals(HttpHeaders.CONTENT_TYPE) ? captured.getContentType() : captured.getHeader(name);
+            if (value != null) {
+                headers.add(name);
+                headers.add(value);
+            }
+        }
+        IdempotentResponse result = new IdempotentResponse(captured.getStatus(), headers.toArray(String[]::new),
+                captured.getContentAsByteArray(), fingerprint);
+        executed.increment();
+        return result;
+    }
+
+    private void awaitAndReplay(CompletableFuture<IdempotentResponse> running, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        byte[] fingerprint = fingerprint(request.getInputStream());
+        IdempotentResponse result;
+        try {
+            result = running.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result = null;
+        } catch (ExecutionException | TimeoutException e) {
+            result = null;
+        }
+        if (result == null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.CONFLICT.value(), "Hay una peticion en curso con la misma Idempotency-Key");
+            return;
+        }
+        replay(result, fingerprint, response, coalesced);
+    }
+
+    private void replay(IdempotentResponse stored, byte[] fingerprint, HttpServletResponse response, Counter counter)
+            throws IOException {
+        if (!MessageDigest.isEqual(stored.fingerprint(), fingerprint)) {
+            mismatched.increment();
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    "Idempotency-Key ya usada con otra peticion");
+            return;
+        }
+        counter.increment();
+        response.setStatus(stored.status());
+        String[] headers = stored.headers();
+        for (int i = 0; i < headers.length; i += 2) {
+            response.setHeader(headers[i], headers[i + 1]);
+        }
+        response.setHeader(REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static byte[] fingerprint(InputStream body) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Calcula el SHA-256 del cuerpo mientras el controlador lo lee
+    private static final class DigestingRequest extends HttpServletRequestWrapper {
+
+        private final MessageDigest digest = sha256();
+        private ServletInputStream input;
+
+        DigestingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (input == null) {
+                ServletInputStream original = super.getInputStream();
+                input = new ServletInputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        int b = original.read();
+                        if (b != -1) {
+                            digest.update((byte) b);
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int read = original.read(b, off, len);
+                        if (read > 0) {
+                            digest.update(b, off, read);
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return original.isFinished();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return original.isReady();
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener readListener) {
+                        original.setReadListener(readListener);
+                    }
+                };
+            }
+            return input;
+        }
+
+        // Lee lo que el controlador no consumio (p. ej. espacios finales) y regresa la huella
+        byte[] finish() throws IOException {
+            InputStream in = getInputStream();
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) != -1) {
+                // solo alimenta el digest
+            }
+            return digest.digest();
+        }
+    }
+}
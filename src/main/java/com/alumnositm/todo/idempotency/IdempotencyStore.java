@@ -0,0 +1,10 @@
+package com.alumnositm.todo.idempotency;
+
+// Respuestas terminadas por llave (la ruta mas el Idempotency-Key). Cada una vive ttl
+public interface IdempotencyStore {
+
+    // null si no hay respuesta guardada o ya expiro
+    IdempotentResponse find(String key);
+
+    void save(String key, IdempotentResponse response);
+}
@@ -0,0 +1,42 @@
+package com.alumnositm.todo.idempotency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Respuesta ya terminada de un POST con Idempotency-Key: lo necesario para repetirla tal cual.
+// headers alterna nombre y valor (solo los de REPLAYED_HEADERS); fingerprint es el SHA-256 del
+// cuerpo de la peticion original, para detectar la misma llave con otra peticion
+public record IdempotentResponse(int status, String[] headers, byte[] body, byte[] fingerprint) {
+
+    static final List<String> REPLAYED_HEADERS = List.of("Content-Type", "Location", "ETag", "Retry-After");
+
+    // Tamano aproximado en memoria, para el limite en bytes de la cache
+    public int weight() {
+        int weight = 64 + body.length + fingerprint.length;
+        for (String header : headers) {
+            weight += 40 + header.length();
+        }
+        return weight;
+    }
+
+    // "Nombre: valor" por linea, para guardarlos en una sola columna
+    String headersText() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < headers.length; i += 2) {
+            text.append(headers[i]).append(": ").append(headers[i + 1]).append('\n');
+        }
+        return text.toString();
+    }
+
+    static String[] parseHeaders(String text) {
+        List<String> headers = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            int colon = line.indexOf(": ");
+            if (colon > 0) {
+                headers.add(line.substring(0, colon));
+                headers.add(line.substring(colon + 2));
+            }
+        }
+        return headers.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,30 @@
+package com.alumnositm.todo.idempotency;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Respuestas en memoria (Caffeine), limitadas en bytes y con expiracion desde que se guardan
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, IdempotentResponse> cache;
+
+    public InMemoryIdempotencyStore(long maxBytes, Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, IdempotentResponse response) -> key.length() + response.weight())
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public IdempotentResponse find(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        cache.put(key, response);
+    }
+}
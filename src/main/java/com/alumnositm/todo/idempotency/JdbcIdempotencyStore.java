@@ -0,0 +1,80 @@
+package com.alumnositm.todo.idempotency;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Respuestas en la tabla todo_idempotency, para que sobrevivan a un reinicio y las vean todas las
+// instancias. Delante va una cache en memoria: un reintento casi siempre llega a la misma instancia
+// y poco despues. Respuestas mas grandes que maxBodyBytes solo quedan en memoria
+@Slf4j
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final RowMapper<IdempotentResponse> ROW_MAPPER = (rs, rowNum) -> new IdempotentResponse(
+            rs.getInt("status"),
+            IdempotentResponse.parseHeaders(rs.getString("headers")),
+            rs.getBytes("body"),
+            rs.getBytes("fingerprint"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotencyStore memory;
+    private final Duration ttl;
+    private final int maxBodyBytes;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, IdempotencyStore memory, Duration ttl, int maxBodyBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.memory = memory;
+        this.ttl = ttl;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    public IdempotentResponse find(String key) {
+        IdempotentResponse response = memory.find(key);
+        if (response != null) {
+            return response;
+        }
+        List<IdempotentResponse> rows = jdbcTemplate.query("select status, headers, body, fingerprint "
+                + "from todo_idempotency where idem_key = ? and created_at > ?", ROW_MAPPER, key,
+                Timestamp.from(Instant.now().minus(ttl)));
+        if (rows.isEmpty()) {
+            return null;
+        }
+        memory.save(key, rows.get(0));
+        return rows.get(0);
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        memory.save(key, response);
+        if (response.body().length > maxBodyBytes) {
+            return;
+        }
+        Instant now = Instant.now();
+        // Una fila vencida de la misma llave que la purga aun no borro
+        jdbcTemplate.update("delete from todo_idempotency where idem_key = ? and created_at <= ?", key,
+                Timestamp.from(now.minus(ttl)));
+        try {
+            jdbcTemplate.update("insert into todo_idempotency (idem_key, status, headers, body, fingerprint, created_at) "
+                    + "values (?, ?, ?, ?, ?, ?)", key, response.status(), response.headersText(), response.body(),
+                    response.fingerprint(), Timestamp.from(now));
+        } catch (DuplicateKeyException e) {
+            // Otra instancia ya guardo la respuesta de esta llave
+            log.debug("Idempotency-Key ya guardada: {}", key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todos.idempotency.purge-interval:1h}")
+    public int purge() {
+        return jdbcTemplate.update("delete from todo_idempotency where created_at <= ?",
+                Timestamp.from(Instant.now().minus(ttl)));
+    }
+}
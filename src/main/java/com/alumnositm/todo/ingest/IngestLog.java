@@ -0,0 +1,166 @@
+package com.alumnositm.todo.ingest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+// Log de solo agregar en un archivo mapeado en memoria con las altas aceptadas y aun no aplicadas.
+//
+// Cabecera: magic, epoca y checkpoint (hasta donde ya se aplico). Cada registro: [len][epoca][crc32c]
+// [payload]. Al arrancar se leen los registros desde el checkpoint hasta el primero que no sea
+// valido (len 0, otra epoca o crc distinto: una escritura cortada o lo que quedo de una vuelta
+// anterior). Cuando todo lo escrito ya se aplico el log vuelve al inicio con la epoca siguiente.
+//
+// Las posiciones que regresa append son logicas: crecen siempre, aun despues de volver al inicio.
+// append y checkpoint no son seguros entre hilos (WriteBehindIngestor los llama con su lock); sync si
+public class IngestLog implements AutoCloseable {
+
+    static final int HEADER = 32;
+    static final int RECORD_HEADER = 12;
+    private static final int MAGIC = 0x54444c31;
+    private static final int MAGIC_AT = 0;
+    private static final int EPOCH_AT = 4;
+    private static final int CHECKPOINT_AT = 8;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final boolean fsync;
+
+    private int epoch;
+    private int position;
+    // Posicion logica del byte HEADER en la epoca actual
+    private long base;
+    // Posicion logica del final del ultimo registro escrito; la lee sync sin el lock de los escritores
+    private volatile long written;
+
+    private final Object syncLock = new Object();
+    private long synced;
+
+    public IngestLog(Path file, int capacity, boolean fsync) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.capacity = (int) Math.max(capacity, channel.size());
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.capacity);
+        this.fsync = fsync;
+        if (buffer.getInt(MAGIC_AT) != MAGIC) {
+            buffer.putInt(MAGIC_AT, MAGIC);
+            writeHeader(1, HEADER);
+        }
+        this.epoch = buffer.getInt(EPOCH_AT);
+        this.position = buffer.getInt(CHECKPOINT_AT);
+        this.written = logical(position);
+        this.synced = written;
+    }
+
+    // Registros escritos despues del checkpoint, en orden. Deja el log listo para seguir agregando
+    // despues del ultimo valido
+    public List<Entry> recover() {
+        List<Entry> entries = new ArrayList<>();
+        CRC32C crc = new CRC32C();
+        while (position + RECORD_HEADER <= capacity) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER + length > capacity
+                    || buffer.getInt(position + 4) != epoch) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice(position + RECORD_HEADER, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(position + 8)) {
+                break;
+            }
+            position += RECORD_HEADER + length;
+            entries.add(new Entry(IngestRecord.decode(payload), logical(position)));
+        }
+        written = logical(position);
+        synced = written;
+        return entries;
+    }
+
+    // Agrega el registro y regresa la posicion logica de su final, o -1 si ya no cabe
+    public long append(byte[] payload) {
+        if (position + RECORD_HEADER + payload.length > capacity) {
+            return -1;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        // El len va al final: un registro a medias se lee como len 0 y ahi termina la recuperacion
+        buffer.putInt(position + 4, epoch);
+        buffer.putInt(position + 8, (int) crc.getValue());
+        buffer.put(position + RECORD_HEADER, payload);
+        buffer.putInt(position, payload.length);
+        position += RECORD_HEADER + payload.length;
+        written = logical(position);
+        return written;
+    }
+
+    // Espera a que todo hasta end este en disco. Un solo force cubre a todos los que esperan al
+    // mismo tiempo (group commit); sin fsync solo queda en el page cache y sobrevive a una caida
+    // del proceso pero no del sistema
+    public void sync(long end) {
+        if (!fsync) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= end) {
+                return;
+            }
+            long target = written;
+            buffer.force();
+            synced = target;
+        }
+    }
+
+    // Todo hasta end ya esta en la base. Si es todo lo escrito se vuelve al inicio con otra epoca
+    public void checkpoint(long end) {
+        if (end == written) {
+            base = written;
+            epoch++;
+            position = HEADER;
+            // La nueva epoca queda en disco antes que cualquier registro suyo
+            writeHeader(epoch, HEADER);
+            synchronized (syncLock) {
+                synced = Math.max(synced, written);
+            }
+        } else {
+            // No hace falta forzarlo: si se pierde, la recuperacion vuelve a leer registros ya
+            // aplicados y las llaves en la base los descartan
+            buffer.putInt(CHECKPOINT_AT, (int) (end - base) + HEADER);
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // Bytes ocupados por registros en la epoca actual
+    public int used() {
+        return position - HEADER;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private long logical(int offset) {
+        return base + offset - HEADER;
+    }
+
+    private void writeHeader(int epoch, int checkpoint) {
+        buffer.putInt(EPOCH_AT, epoch);
+        buffer.putInt(CHECKPOINT_AT, checkpoint);
+        buffer.force(0, HEADER);
+    }
+
+    public record Entry(IngestRecord record, long end) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.alumnositm.todo.ingest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Un alta pendiente tal como se guarda en el log: la llave de idempotencia y los datos del todo
+public record IngestRecord(String key, String title, String description) {
+
+    // [len][utf-8] por cada campo
+    public byte[] encode() {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] titleBytes = title.getBytes(StandardCharsets.UTF_8);
+        byte[] descriptionBytes = description.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(12 + keyBytes.length + titleBytes.length + descriptionBytes.length);
+        buffer.putInt(keyBytes.length).put(keyBytes);
+        buffer.putInt(titleBytes.length).put(titleBytes);
+        buffer.putInt(descriptionBytes.length).put(descriptionBytes);
+        return buffer.array();
+    }
+
+    public static IngestRecord decode(ByteBuffer payload) {
+        return new IngestRecord(readString(payload), readString(payload), readString(payload));
+    }
+
+    private static String readString(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.getInt()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
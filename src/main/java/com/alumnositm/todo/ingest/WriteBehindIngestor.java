@@ -0,0 +1,292 @@
+package com.alumnositm.todo.ingest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.repositorys.TodoIngestKeyRepository;
+import com.alumnositm.todo.services.TodoServices;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// Ingesta write-behind de POST /api/v1/todos (todos.ingest.mode=write-behind). Un alta se confirma
+// al cliente en cuanto esta en el IngestLog (en disco) y en la cola; flush la pasa despues a la base
+// en lotes grandes con TodoServices.createTodos, junto con su llave en todo_ingest_keys.
+//
+// - Contrapresion: la cola tiene a lo mas maxPending altas y el log un tamano fijo; si no hay lugar
+//   submit espera hasta offerTimeout y luego rechaza (el controlador responde 503).
+// - Recuperacion: al arrancar se vuelven a encolar los registros del log que no tenian checkpoint.
+// - Exactamente una vez: cada alta tiene una llave (la Idempotency-Key del cliente o una generada);
+//   la misma llave no entra dos veces a la cola y al aplicar se saltan las que ya estan en la base
+// - flush corre en su propio hilo (startFlushing) y no en el taskScheduler compartido: una purga o una
+//   reconciliacion lenta ahi no debe detener la escritura mientras el alta sigue respondiendo 202
+@Slf4j
+public class WriteBehindIngestor implements AutoCloseable {
+
+    private final IngestLog ingestLog;
+    private final TodoServices todoServices;
+    private final TodoIngestKeyRepository keyRepository;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final int maxPending;
+    private final Duration offerTimeout;
+    private final Duration keyRetention;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<IngestLog.Entry> queue = new ArrayDeque<>();
+    private final Map<String, IngestLog.Entry> pendingByKey = new HashMap<>();
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter duplicates;
+    private ScheduledExecutorService flusher;
+
+    public WriteBehindIngestor(IngestLog ingestLog, TodoServices todoServices, TodoIngestKeyRepository keyRepository,
+            TransactionOperations transactionOperations, int batchSize, int maxPending, Duration offerTimeout,
+            Duration keyRetention, MeterRegistry meterRegistry) {
+        this.ingestLog = ingestLog;
+        this.todoServices = todoServices;
+        this.keyRepository = keyRepository;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.offerTimeout = offerTimeout;
+        this.keyRetention = keyRetention;
+        this.accepted = meterRegistry.counter("todos.ingest.accepted");
+        this.rejected = meterRegistry.counter("todos.ingest.rejected");
+        this.duplicates = meterRegistry.counter("todos.ingest.duplicates");
+        Gauge.builder("todos.ingest.pending", this, WriteBehindIngestor::pending).register(meterRegistry);
+        Gauge.builder("todos.ingest.log.used", ingestLog, IngestLog::used).baseUnit("bytes").register(meterRegistry);
+
+        List<IngestLog.Entry> recovered = ingestLog.recover();
+        for (IngestLog.Entry entry : recovered) {
+            if (pendingByKey.putIfAbsent(entry.record().key(), entry) == null) {
+                queue.add(entry);
+            }
+        }
+        if (!recovered.isEmpty()) {
+            log.info("Ingesta: {} altas recuperadas del log; se aplican en el siguiente flush", queue.size());
+        }
+    }
+
+    // true cuando el alta ya esta en el log (en disco si fsync) y se puede responder 202; false si no
+    // hubo lugar en offerTimeout. Repetir una llave que sigue en la cola no la vuelve a escribir
+    public boolean submit(String key, CreateTodoRequest request) {
+        byte[] payload = new IngestRecord(key, request.getTitle(), request.getDescription()).encode();
+        IngestLog.Entry entry;
+        lock.lock();
+        try {
+            entry = pendingByKey.get(key);
+            if (entry == null) {
+                entry = append(key, request, payload);
+                if (entry == null) {
+                    rejected.increment();
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+        ingestLog.sync(entry.end());
+        accepted.increment();
+        return true;
+    }
+
+    // Con el lock tomado; espera lugar en la cola y en el log
+    private IngestLog.Entry append(String key, CreateTodoRequest request, byte[] payload) throws InterruptedException {
+        long nanos = offerTimeout.toNanos();
+        while (true) {
+            if (queue.size() < maxPending) {
+                long end = ingestLog.append(payload);
+                if (end >= 0) {
+                    IngestLog.Entry entry = new IngestLog.Entry(
+                            new IngestRecord(key, request.getTitle(), request.getDescription()), end);
+                    queue.add(entry);
+                    pendingByKey.put(key, entry);
+                    return entry;
+                }
+            }
+            if (nanos <= 0) {
+                return null;
+            }
+            nanos = notFull.awaitNanos(nanos);
+        }
+    }
+
+    // Id del todo si la llave ya se aplico
+    public Optional<Long> findApplied(String key) {
+        return keyRepository.findTodoId(key);
+    }
+
+    public boolean isPending(String key) {
+        lock.lock();
+        try {
+            return pendingByKey.containsKey(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Programa flush cada interval (contado desde que termina el anterior) en un hilo dedicado
+    public synchronized void startFlushing(Duration interval) {
+        if (flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ingest-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long nanos = interval.toNanos();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Una excepcion que escape de una tarea programada cancela las siguientes
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Ingesta: fallo el flush programado", e);
+        }
+    }
+
+    // Aplica la cola en lotes de batchSize y regresa cuantas altas inserto. Un lote se quita de la
+    // cola solo despues del commit; si falla se queda y se reintenta en la siguiente vuelta
+    public synchronized int flush() {
+        int inserted = 0;
+        List<IngestLog.Entry> batch;
+        do {
+            batch = peekBatch();
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                inserted += apply(batch);
+            } catch (RuntimeException e) {
+                log.warn("Ingesta: no se pudo aplicar un lote de {} altas; se reintenta en la siguiente vuelta",
+                        batch.size(), e);
+                break;
+            }
+            complete(batch);
+        } while (batch.size() == batchSize);
+        return inserted;
+    }
+
+    private List<IngestLog.Entry> peekBatch() {
+        lock.lock();
+        try {
+            List<IngestLog.Entry> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+            Iterator<IngestLog.Entry> entries = queue.iterator();
+            while (batch.size() < batchSize && entries.hasNext()) {
+                batch.add(entries.next());
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int apply(List<IngestLog.Entry> batch) {
+        Integer inserted = transactionOperations.execute(status -> {
+            List<String> keys = new ArrayList<>(batch.size());
+            for (IngestLog.Entry entry : batch) {
+                keys.add(entry.record().key());
+            }
+            Set<String> applied = keyRepository.findExisting(keys);
+            List<String> freshKeys = new ArrayList<>(batch.size());
+            List<CreateTodoRequest> requests = new ArrayList<>(batch.size());
+            for (IngestLog.Entry entry : batch) {
+                IngestRecord record = entry.record();
+                if (!applied.contains(record.key())) {
+                    freshKeys.add(record.key());
+                    requests.add(new CreateTodoRequest(record.title(), record.description()));
+                }
+            }
+            duplicates.increment(batch.size() - requests.size());
+            if (requests.isEmpty()) {
+                return 0;
+            }
+            List<TodoEntity> created = todoServices.createTodos(requests);
+            long[] ids = new long[created.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = created.get(i).getId();
+            }
+            keyRepository.insertAll(freshKeys, ids, Instant.now());
+            return created.size();
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    private void complete(List<IngestLog.Entry> batch) {
+        lock.lock();
+        try {
+            for (IngestLog.Entry entry : batch) {
+                queue.poll();
+                pendingByKey.remove(entry.record().key());
+            }
+            ingestLog.checkpoint(batch.get(batch.size() - 1).end());
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Una llave solo protege contra reintentos dentro de este periodo
+    @Scheduled(fixedDelayString = "${todos.ingest.purge-interval:1h}")
+    public int purge() {
+        return keyRepository.deleteCreatedBefore(Instant.now().minus(keyRetention));
+    }
+
+    public int pending() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Al apagar se detiene el hilo de flush y se intenta vaciar la cola; lo que no se aplique sigue
+    // en el log para el siguiente arranque. El log lo cierra su propio bean, despues de este
+    @Override
+    public void close() {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = flusher;
+        }
+        if (running != null) {
+            running.shutdown();
+            try {
+                running.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+}
@@ -0,0 +1,23 @@
+package com.alumnositm.todo.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Guarda los eventos publicados en memoria; para pruebas (todos.outbox.sink=memory)
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) {
+        events.addAll(batch);
+    }
+
+    public synchronized List<OutboxEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,31 @@
+package com.alumnositm.todo.outbox;
+
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Escribe cada evento como una linea JSON en el log (logger com.alumnositm.todo.outbox)
+@Slf4j
+public class LogOutboxSink implements OutboxSink {
+
+    private final ObjectWriter writer;
+
+    public LogOutboxSink(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(OutboxEvent.class);
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            try {
+                log.info("{}", writer.writeValueAsString(event));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("No se pudo serializar el evento " + event.seq(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.alumnositm.todo.outbox;
+
+import java.time.Instant;
+
+import com.alumnositm.todo.events.TodoChangedEvent;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+// Un registro de la tabla outbox. todo es el JSON guardado tal cual (sin volver a parsearlo);
+// en los cambios de estado masivos solo trae id y status, en las bajas no viene
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OutboxEvent(long seq, long todoId, TodoChangedEvent.Type type, @JsonRawValue String todo,
+        Instant createdAt) {
+}
@@ -0,0 +1,63 @@
+package com.alumnositm.todo.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.alumnositm.todo.repositorys.TodoOutboxRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Lee los eventos aun no publicados en lotes de batchSize, los entrega al sink y los marca como
+// publicados. Si el sink falla el lote se queda pendiente y se reintenta en la siguiente vuelta,
+// asi que un evento puede llegar mas de una vez (y con varias instancias, una vez por instancia)
+@Slf4j
+public class OutboxRelay {
+
+    private final TodoOutboxRepository outboxRepository;
+    private final OutboxSink sink;
+    private final int batchSize;
+    private final Duration retention;
+
+    public OutboxRelay(TodoOutboxRepository outboxRepository, OutboxSink sink, int batchSize, Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    // Regresa cuantos eventos publico; sigue mientras los lotes vengan llenos
+    @Scheduled(fixedDelayString = "${todos.outbox.relay.interval:1s}")
+    public int relay() {
+        int published = 0;
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxRepository.findUnpublished(batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                sink.publish(batch);
+            } catch (RuntimeException e) {
+                log.warn("No se pudo publicar el lote desde seq {}; se reintenta en la siguiente vuelta",
+                        batch.get(0).seq(), e);
+                break;
+            }
+            outboxRepository.markPublished(batch, Instant.now());
+            published += batch.size();
+        } while (batch.size() == batchSize);
+        return published;
+    }
+
+    // El feed /changes solo cubre este periodo; un cliente mas atrasado debe volver a leer la lista
+    @Scheduled(fixedDelayString = "${todos.outbox.purge-interval:1h}")
+    public int purge() {
+        int deleted = outboxRepository.deletePublishedBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Outbox: {} eventos publicados borrados", deleted);
+        }
+        return deleted;
+    }
+}
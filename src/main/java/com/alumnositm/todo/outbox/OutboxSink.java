@@ -0,0 +1,10 @@
+package com.alumnositm.todo.outbox;
+
+import java.util.List;
+
+// Destino de los eventos que publica OutboxRelay. Si publish lanza una excepcion el lote no se
+// marca como publicado y se reintenta en la siguiente vuelta (entrega al menos una vez)
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events);
+}
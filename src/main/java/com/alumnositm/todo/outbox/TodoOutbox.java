@@ -0,0 +1,121 @@
+package com.alumnositm.todo.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.alumnositm.todo.dtos.response.TodoChangesResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.events.TodoChangedEvent;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.repositorys.TodoOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+// Escribe los eventos de cambio en todo_outbox y arma el feed de cambios. Los metodos record*
+// deben llamarse dentro de la transaccion del cambio; no abren una propia
+@Component
+public class TodoOutbox {
+
+    static final int MAX_CHANGES_LIMIT = 1000;
+
+    private final TodoOutboxRepository outboxRepository;
+    private final ObjectWriter todoWriter;
+    private final ObjectWriter statusWriter;
+    // Los seq se asignan al insertar pero las transacciones confirman en otro orden; el feed solo
+    // muestra eventos con al menos esta antiguedad para que un seq menor aun sin confirmar no quede
+    // atras del "since" de un cliente. Debe ser mayor que la transaccion de escritura mas larga
+    private final Duration feedDelay;
+    // Escrituras de esta instancia, contadas al confirmar su transaccion: el ETag de la tabla cambia
+    // antes de responder al cliente que escribio, sin esperar feedDelay. instance distingue los
+    // contadores de cada arranque
+    private final AtomicLong committed = new AtomicLong();
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+
+    public TodoOutbox(TodoOutboxRepository outboxRepository, ObjectMapper objectMapper,
+            @Value("${todos.outbox.feed-delay:1s}") Duration feedDelay) {
+        this.outboxRepository = outboxRepository;
+        this.todoWriter = objectMapper.writerFor(TodoEntity.class);
+        this.statusWriter = objectMapper.writerFor(StatusChange.class);
+        this.feedDelay = feedDelay;
+    }
+
+    public void recordCreated(List<TodoEntity> todos) {
+        record(TodoChangedEvent.Type.CREATED, todos);
+    }
+
+    public void recordUpdated(TodoEntity todo) {
+        record(TodoChangedEvent.Type.UPDATED, List.of(todo));
+    }
+
+    public void recordStatusChanged(long[] ids, TodoStatus status) {
+        List<String> payloads = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            payloads.add(toJson(statusWriter, new StatusChange(id, status)));
+        }
+        outboxRepository.append(TodoChangedEvent.Type.UPDATED, ids, payloads, Instant.now());
+        countOnCommit();
+    }
+
+    public void recordDeleted(long... ids) {
+        outboxRepository.append(TodoChangedEvent.Type.DELETED, ids, null, Instant.now());
+        countOnCommit();
+    }
+
+    public TodoChangesResponse changesSince(long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_LIMIT));
+        List<OutboxEvent> changes = outboxRepository.findSince(since, Instant.now().minus(feedDelay), pageSize);
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).seq();
+        return new TodoChangesResponse(changes, next);
+    }
+
+    // Version de toda la tabla para los ETags de listas y busquedas. Las escrituras de esta instancia
+    // la cambian en cuanto confirman (committed); las de otras instancias, con el seq mas alto que ya
+    // tiene la antiguedad del feed, a lo mas feedDelay despues de confirmarse
+    public String currentVersion() {
+        return outboxRepository.maxSeq(Instant.now().minus(feedDelay)) + "." + instance + "." + committed.get();
+    }
+
+    private void countOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed.incrementAndGet();
+            }
+        });
+    }
+
+    private void record(TodoChangedEvent.Type type, List<TodoEntity> todos) {
+        long[] ids = new long[todos.size()];
+        List<String> payloads = new ArrayList<>(todos.size());
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = todos.get(i).getId();
+            payloads.add(toJson(todoWriter, todos.get(i)));
+        }
+        outboxRepository.append(type, ids, payloads, Instant.now());
+        countOnCommit();
+    }
+
+    private static String toJson(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento de cambio", e);
+        }
+    }
+
+    private record StatusChange(long id, TodoStatus status) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.alumnositm.todo.protobuf;
+
+import java.util.List;
+
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.helpers.TodoStatus;
+
+// Pasa las respuestas de la API a los mensajes generados de todo.proto. Los campos en null
+// (los que no se pidieron con ?fields=) no se asignan y no se escriben
+public final class TodoProtoMapper {
+
+    private TodoProtoMapper() {
+    }
+
+    public static Todo toMessage(TodoResponse todo) {
+        Todo.Builder builder = Todo.newBuilder().setId(todo.id());
+        if (todo.title() != null) {
+            builder.setTitle(todo.title());
+        }
+        if (todo.description() != null) {
+            builder.setDescription(todo.description());
+        }
+        if (todo.status() != null) {
+            builder.setStatus(toMessage(todo.status()));
+        }
+        if (todo.version() != null) {
+            builder.setVersion(todo.version());
+        }
+        return builder.build();
+    }
+
+    public static TodoPage toMessage(TodoPageResponse page) {
+        TodoPage.Builder builder = TodoPage.newBuilder();
+        for (TodoResponse todo : page.getItems()) {
+            builder.addItems(toMessage(todo));
+        }
+        if (page.getNextCursor() != null) {
+            builder.setNextCursor(page.getNextCursor());
+        }
+        return builder.build();
+    }
+
+    public static TodoList toMessage(List<TodoResponse> todos) {
+        TodoList.Builder builder = TodoList.newBuilder();
+        for (TodoResponse todo : todos) {
+            builder.addItems(toMessage(todo));
+        }
+        return builder.build();
+    }
+
+    public static Todo.Status toMessage(TodoStatus status) {
+        return switch (status) {
+            case PENDING -> Todo.Status.PENDING;
+            case COMPLETED -> Todo.Status.COMPLETED;
+            case IN_PROGRESS -> Todo.Status.IN_PROGRESS;
+            case CANCELLED -> Todo.Status.CANCELLED;
+        };
+    }
+}
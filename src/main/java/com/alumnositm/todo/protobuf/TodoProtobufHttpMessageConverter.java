@@ -0,0 +1,90 @@
+package com.alumnositm.todo.protobuf;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.google.protobuf.Message;
+
+// Escribe TodoResponse, TodoPageResponse y List<TodoResponse> como Protobuf cuando el cliente
+// manda Accept: application/x-protobuf. Usa las clases generadas de todo.proto, sin reflexion.
+// Solo escribe: las peticiones siguen llegando en JSON. Otros tipos (p. ej. ?compact=true) no
+// tienen representacion Protobuf y el cliente recibe 406
+public class TodoProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public TodoProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && (supports(clazz) || isTodoList(type));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return TodoResponse.class == clazz || TodoPageResponse.class == clazz;
+    }
+
+    // Spring MVC pregunta por la clase del valor (ArrayList) antes de revisar el tipo generico en
+    // canWrite; sin esto las busquedas (List<TodoResponse>) nunca ofrecerian application/x-protobuf
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) || List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    private static boolean isTodoList(Type type) {
+        return type instanceof ParameterizedType list
+                && list.getRawType() == List.class
+                && list.getActualTypeArguments()[0] == TodoResponse.class;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Message message;
+        if (body instanceof TodoResponse todo) {
+            message = TodoProtoMapper.toMessage(todo);
+        } else if (body instanceof TodoPageResponse page) {
+            message = TodoProtoMapper.toMessage(page);
+        } else {
+            message = TodoProtoMapper.toMessage((List<TodoResponse>) body);
+        }
+        message.writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Protobuf solo se usa en las respuestas", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Protobuf solo se usa en las respuestas", inputMessage);
+    }
+}
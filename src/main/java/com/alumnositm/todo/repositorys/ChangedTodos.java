@@ -0,0 +1,6 @@
+package com.alumnositm.todo.repositorys;
+
+// Resultado de un bloque de cambio de estado o de borrado masivo: los ids modificados y cuantos de
+// ellos estaban en cada estado antes del cambio (por ordinal de TodoStatus)
+public record ChangedTodos(long[] ids, long[] previousCounts) {
+}
@@ -0,0 +1,69 @@
+package com.alumnositm.todo.repositorys;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Escrituras y lecturas de todo_ingest_keys. insertAll participa en la transaccion abierta (la que
+// inserta los todos), asi una llave existe si y solo si su todo se confirmo
+@Repository
+public class TodoIngestKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TodoIngestKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Las llaves de keys que ya estan aplicadas
+    public Set<String> findExisting(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList("select ingest_key from todo_ingest_keys where ingest_key in ("
+                + String.join(",", Collections.nCopies(keys.size(), "?")) + ")", String.class, keys.toArray()));
+    }
+
+    public Optional<Long> findTodoId(String key) {
+        List<Long> ids = jdbcTemplate.queryForList("select todo_id from todo_ingest_keys where ingest_key = ?",
+                Long.class, key);
+        return ids.stream().findFirst();
+    }
+
+    // Un solo batch JDBC; keys y todoIds van en el mismo orden
+    public void insertAll(List<String> keys, long[] todoIds, Instant createdAt) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.from(createdAt);
+        jdbcTemplate.batchUpdate("insert into todo_ingest_keys (ingest_key, todo_id, created_at) values (?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, keys.get(i));
+                        ps.setLong(2, todoIds[i]);
+                        ps.setTimestamp(3, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return keys.size();
+                    }
+                });
+    }
+
+    public int deleteCreatedBefore(Instant createdBefore) {
+        return jdbcTemplate.update("delete from todo_ingest_keys where created_at < ?", Timestamp.from(createdBefore));
+    }
+}
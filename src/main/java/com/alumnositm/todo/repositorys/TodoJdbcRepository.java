@@ -0,0 +1,231 @@
+package com.alumnositm.todo.repositorys;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.alumnositm.todo.dtos.request.TodoFilter;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.LikePatterns;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
+
+import io.micrometer.core.annotation.Timed;
+
+// Consultas sobre la tabla todos que no conviene hacer con JPA (recorridos completos, lotes)
+@Repository
+@Timed(value = "todos.jdbc", description = "Llamadas a TodoJdbcRepository")
+public class TodoJdbcRepository {
+
+    static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TodoRowMapper rowMapper = new TodoRowMapper();
+    // updateRow y deleteRow leen el estado anterior en la misma sentencia, con sintaxis distinta
+    // en PostgreSQL y en H2
+    private final boolean postgres;
+
+    public TodoJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        try {
+            this.postgres = "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("No se pudo leer el tipo de base de datos", e);
+        }
+    }
+
+    // Cursor del lado del servidor: el driver trae FETCH_SIZE filas por viaje en lugar de
+    // toda la tabla (en PostgreSQL requiere autocommit apagado, por eso la transaccion)
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<TodoResponse> consumer) {
+        RowCallbackHandler handler = rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow()));
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "select id, title, description, status, version from todos",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, handler);
+    }
+
+    // Una pagina por cursor (igual que TodoRepository.findPageAfter) leyendo solo las columnas pedidas,
+    // para ?fields=: sin description la base ni siquiera lee ni manda el texto largo
+    public List<TodoResponse> findPage(long afterId, TodoStatus status, int limit, Set<TodoField> fields) {
+        StringBuilder sql = new StringBuilder("select ").append(TodoField.columns(fields))
+                .append(" from todos where id > ?");
+        List<Object> args = new ArrayList<>(3);
+        args.add(afterId);
+        if (status != null) {
+            sql.append(" and status = ?");
+            args.add(status.name());
+        }
+        sql.append(" order by id limit ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), new TodoRowMapper(fields), args.toArray());
+    }
+
+    // Inserta todos los registros en un solo batch JDBC y asigna a cada uno el id generado.
+    // Con IDENTITY Hibernate no agrupa inserts, por eso el alta masiva va directo por JDBC
+    // (en PostgreSQL reWriteBatchedInserts=true convierte el batch en inserts multi-fila).
+    public void insertAll(List<TodoEntity> todos) {
+        if (todos.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement("insert into todos (title, description, status) values (?, ?, ?)",
+                        new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        TodoEntity todo = todos.get(i);
+                        ps.setString(1, todo.getTitle());
+                        ps.setString(2, todo.getDescription());
+                        ps.setString(3, todo.getStatus().name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return todos.size();
+                    }
+                },
+                keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < todos.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            todos.get(i).setId(id.longValue());
+            // La columna version toma su default (0)
+            todos.get(i).setVersion(0L);
+        }
+    }
+
+    // Un bloque de un cambio de estado masivo. Con ids se usan esos ids; si no, los siguientes
+    // "limit" ids despues de afterId que cumplen el filtro. Las filas se bloquean con FOR UPDATE
+    // para que los ids regresados sean exactamente los que se modificaron; la misma lectura da el
+    // estado anterior de cada una.
+    @Transactional
+    public ChangedTodos updateStatusChunk(List<Long> ids, TodoFilter filter, long afterId, int limit, TodoStatus newStatus) {
+        ChangedTodos locked = lockIds(ids, filter, afterId, limit);
+        if (locked.ids().length > 0) {
+            List<Object> args = new ArrayList<>(locked.ids().length + 1);
+            args.add(newStatus.name());
+            jdbcTemplate.update("update todos set status = ?, version = version + 1 where id in (" + placeholders(locked.ids().length) + ")",
+                    withIds(args, locked.ids()).toArray());
+        }
+        return locked;
+    }
+
+    // Igual que updateStatusChunk pero borrando las filas
+    @Transactional
+    public ChangedTodos deleteChunk(List<Long> ids, TodoFilter filter, long afterId, int limit) {
+        ChangedTodos locked = lockIds(ids, filter, afterId, limit);
+        if (locked.ids().length > 0) {
+            jdbcTemplate.update("delete from todos where id in (" + placeholders(locked.ids().length) + ")",
+                    withIds(new ArrayList<>(locked.ids().length), locked.ids()).toArray());
+        }
+        return locked;
+    }
+
+    // Un solo UPDATE que ademas regresa el estado anterior (contadores por estado) y la version nueva.
+    // Con expectedVersion solo cambia si la fila sigue en esa version (If-Match). null = no cambio
+    // nada: no existe o, con expectedVersion, ya esta en otra version.
+    // PostgreSQL: RETURNING solo ve los valores nuevos, asi que el anterior sale de un subselect que
+    // bloquea la misma fila (con FOR UPDATE se relee si otra transaccion la cambio mientras tanto).
+    // H2: OLD TABLE da la fila como estaba antes del UPDATE
+    public UpdatedTodo updateRow(long id, Long expectedVersion, String title, String description, TodoStatus status) {
+        List<Object> args = new ArrayList<>(List.of(title, description, status.name(), id));
+        String versionCheck = "";
+        if (expectedVersion != null) {
+            versionCheck = " and t.version = ?";
+            args.add(expectedVersion);
+        }
+        String sql = postgres
+                ? "update todos t set title = ?, description = ?, status = ?, version = t.version + 1"
+                        + " from (select id, status from todos where id = ? for update) prev"
+                        + " where t.id = prev.id" + versionCheck + " returning prev.status, t.version"
+                : "select status, version + 1 from old table (update todos t set title = ?, description = ?,"
+                        + " status = ?, version = t.version + 1 where t.id = ?" + versionCheck + ")";
+        List<UpdatedTodo> rows = jdbcTemplate.query(sql,
+                (rs, rowNum) -> new UpdatedTodo(TodoStatus.valueOf(rs.getString(1)), rs.getLong(2)), args.toArray());
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    // Un solo DELETE que regresa el estado de la fila borrada; null si no existia
+    public TodoStatus deleteRow(long id) {
+        String sql = postgres
+                ? "delete from todos where id = ? returning status"
+                : "select status from old table (delete from todos where id = ?)";
+        List<String> rows = jdbcTemplate.queryForList(sql, String.class, id);
+        return rows.isEmpty() ? null : TodoStatus.valueOf(rows.get(0));
+    }
+
+    // Todos por estado (ordinal de TodoStatus) con un GROUP BY que resuelve idx_status
+    public long[] countByStatus() {
+        long[] counts = new long[TodoStatus.values().length];
+        jdbcTemplate.query("select status, count(*) from todos group by status",
+                (RowCallbackHandler) rs -> counts[TodoStatus.valueOf(rs.getString(1)).ordinal()] = rs.getLong(2));
+        return counts;
+    }
+
+    private ChangedTodos lockIds(List<Long> ids, TodoFilter filter, long afterId, int limit) {
+        StringBuilder sql = new StringBuilder("select id, status from todos where ");
+        List<Object> args = new ArrayList<>();
+        if (ids != null) {
+            if (ids.isEmpty()) {
+                return new ChangedTodos(new long[0], new long[TodoStatus.values().length]);
+            }
+            sql.append("id in (").append(placeholders(ids.size())).append(')');
+            args.addAll(ids);
+        } else {
+            sql.append("id > ?");
+            args.add(afterId);
+            if (filter.getStatus() != null) {
+                sql.append(" and status = ?");
+                args.add(filter.getStatus().name());
+            }
+            if (filter.getTitlePrefix() != null && !filter.getTitlePrefix().isBlank()) {
+                sql.append(" and title like ? escape '\\'");
+                args.add(LikePatterns.startsWith(filter.getTitlePrefix()));
+            }
+        }
+        sql.append(" order by id limit ? for update");
+        args.add(limit);
+        List<Long> found = new ArrayList<>();
+        long[] previousCounts = new long[TodoStatus.values().length];
+        jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> {
+            found.add(rs.getLong(1));
+            previousCounts[TodoStatus.valueOf(rs.getString(2)).ordinal()]++;
+        }, args.toArray());
+        return new ChangedTodos(found.stream().mapToLong(Long::longValue).toArray(), previousCounts);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static List<Object> withIds(List<Object> args, long[] ids) {
+        for (long id : ids) {
+            args.add(id);
+        }
+        return args;
+    }
+}
@@ -0,0 +1,97 @@
+package com.alumnositm.todo.repositorys;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.alumnositm.todo.events.TodoChangedEvent;
+import com.alumnositm.todo.outbox.OutboxEvent;
+
+// Escrituras y lecturas de todo_outbox. append participa en la transaccion que este abierta
+// (la del servicio), que es lo que garantiza que el cambio y su evento se confirman juntos
+@Repository
+public class TodoOutboxRepository {
+
+    private static final String COLUMNS = "seq, todo_id, type, payload, created_at";
+    private static final RowMapper<OutboxEvent> ROW_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("seq"),
+            rs.getLong("todo_id"),
+            TodoChangedEvent.Type.valueOf(rs.getString("type")),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TodoOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Un solo batch JDBC; ids y payloads van en el mismo orden
+    public void append(TodoChangedEvent.Type type, long[] todoIds, List<String> payloads, Instant createdAt) {
+        if (todoIds.length == 0) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.from(createdAt);
+        jdbcTemplate.batchUpdate("insert into todo_outbox (todo_id, type, payload, created_at) values (?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, todoIds[i]);
+                        ps.setString(2, type.name());
+                        ps.setString(3, payloads == null ? null : payloads.get(i));
+                        ps.setTimestamp(4, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return todoIds.length;
+                    }
+                });
+    }
+
+    // Eventos con seq mayor a since y creados a mas tardar en createdBefore, en orden de seq
+    public List<OutboxEvent> findSince(long since, Instant createdBefore, int limit) {
+        return jdbcTemplate.query("select " + COLUMNS + " from todo_outbox where seq > ? and created_at <= ? "
+                + "order by seq limit ?", ROW_MAPPER, since, Timestamp.from(createdBefore), limit);
+    }
+
+    public List<OutboxEvent> findUnpublished(int limit) {
+        return jdbcTemplate.query("select " + COLUMNS + " from todo_outbox where published_at is null "
+                + "order by seq limit ?", ROW_MAPPER, limit);
+    }
+
+    public int markPublished(List<OutboxEvent> events, Instant publishedAt) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(events.size() + 1);
+        args.add(Timestamp.from(publishedAt));
+        for (OutboxEvent event : events) {
+            args.add(event.seq());
+        }
+        return jdbcTemplate.update("update todo_outbox set published_at = ? where seq in ("
+                + String.join(",", Collections.nCopies(events.size(), "?")) + ")", args.toArray());
+    }
+
+    // Mayor seq creado a mas tardar en createdBefore (0 si no hay); recorre la llave primaria desde el final
+    public long maxSeq(Instant createdBefore) {
+        Long max = jdbcTemplate.queryForObject("select max(seq) from todo_outbox where created_at <= ?", Long.class,
+                Timestamp.from(createdBefore));
+        return max == null ? 0L : max;
+    }
+
+    // Siempre conserva el ultimo registro para que maxSeq no regrese a 0 (es el contador de cambios)
+    public int deletePublishedBefore(Instant publishedBefore) {
+        return jdbcTemplate.update("delete from todo_outbox where published_at < ? "
+                + "and seq < (select max(seq) from todo_outbox)", Timestamp.from(publishedBefore));
+    }
+}
@@ -0,0 +1,122 @@
+package com.alumnositm.todo.repositorys;
+
+import java.util.Locale;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.LikePatterns;
+import com.alumnositm.todo.helpers.TodoStatus;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Acceso no bloqueante a la tabla todos (perfil reactive). Mismas consultas que el stack JDBC/JPA
+@Repository
+@Profile("reactive")
+public class TodoR2dbcRepository {
+
+    // Filas que el driver trae por viaje; con backpressure no se lee mas de lo que el cliente consume
+    static final int FETCH_SIZE = 1000;
+
+    // El status lleva cast explicito: r2dbc-h2 manda los String como CLOB y H2 no los convierte a la
+    // columna ENUM que genera Hibernate. En PostgreSQL la columna es varchar y el cast no cambia nada
+
+    private final DatabaseClient databaseClient;
+
+    public TodoR2dbcRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<TodoEntity> findPage(long afterId, TodoStatus status, int limit) {
+        if (status == null) {
+            return databaseClient.sql("select id, title, description, status, version from todos where id > :after order by id limit :limit")
+                    .bind("after", afterId)
+                    .bind("limit", limit)
+                    .map(TodoR2dbcRepository::mapRow)
+                    .all();
+        }
+        return databaseClient.sql("select id, title, description, status, version from todos where status = cast(:status as varchar(20)) and id > :after order by id limit :limit")
+                .bind("status", status.name())
+                .bind("after", afterId)
+                .bind("limit", limit)
+                .map(TodoR2dbcRepository::mapRow)
+                .all();
+    }
+
+    public Flux<TodoEntity> findAll() {
+        return databaseClient.sql("select id, title, description, status, version from todos order by id")
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(TodoR2dbcRepository::mapRow)
+                .all();
+    }
+
+    public Mono<TodoEntity> findById(long id) {
+        return databaseClient.sql("select id, title, description, status, version from todos where id = :id")
+                .bind("id", id)
+                .map(TodoR2dbcRepository::mapRow)
+                .one();
+    }
+
+    // Regresa el mismo todo con el id generado
+    public Mono<TodoEntity> insert(TodoEntity todo) {
+        return databaseClient.sql("insert into todos (title, description, status) values (:title, :description, cast(:status as varchar(20)))")
+                .bind("title", todo.getTitle())
+                .bind("description", todo.getDescription())
+                .bind("status", todo.getStatus().name())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    todo.setId(id);
+                    todo.setVersion(0L);
+                    return todo;
+                });
+    }
+
+    public Mono<Long> update(TodoEntity todo) {
+        return databaseClient.sql("update todos set title = :title, description = :description, status = cast(:status as varchar(20)), version = version + 1 where id = :id")
+                .bind("title", todo.getTitle())
+                .bind("description", todo.getDescription())
+                .bind("status", todo.getStatus().name())
+                .bind("id", todo.getId())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(long id) {
+        return databaseClient.sql("delete from todos where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // Misma busqueda que LikeTodoSearchEngine: LIKE parametrizado, primero los que empiezan con el texto
+    public Flux<TodoEntity> searchByTitle(String query, int limit) {
+        String normalized = query.toLowerCase(Locale.ROOT);
+        return databaseClient.sql("""
+                select id, title, description, status, version from todos
+                where lower(title) like :contains escape '\\'
+                order by case when lower(title) like :prefix escape '\\' then 0 else 1 end, id
+                limit :limit
+                """)
+                .bind("contains", LikePatterns.contains(normalized))
+                .bind("prefix", LikePatterns.startsWith(normalized))
+                .bind("limit", limit)
+                .map(TodoR2dbcRepository::mapRow)
+                .all();
+    }
+
+    private static TodoEntity mapRow(Readable row) {
+        TodoEntity todo = new TodoEntity();
+        todo.setId(row.get("id", Long.class));
+        todo.setTitle(row.get("title", String.class));
+        todo.setDescription(row.get("description", String.class));
+        todo.setStatus(TodoStatus.valueOf(row.get("status", String.class)));
+        todo.setVersion(row.get("version", Long.class));
+        return todo;
+    }
+}
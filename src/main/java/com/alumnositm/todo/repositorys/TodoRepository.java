@@ -1,8 +1,38 @@
 package com.alumnositm.todo.repositorys;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.alumnositm.todo.dtos.response.TodoResponse;
 import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoStatus;
 public interface TodoRepository extends JpaRepository<TodoEntity, Long> {
-    
+
+    // Las lecturas regresan TodoResponse con "select new": Hibernate arma el record desde las columnas
+    // sin pasar por el contexto de persistencia (sin entidad administrada ni snapshot)
+    String TODO_RESPONSE = "select new com.alumnositm.todo.dtos.response.TodoResponse("
+            + "t.id, t.title, t.description, t.status, t.version) from TodoEntity t ";
+
+    // Paginacion por cursor (keyset): "where id > ? order by id limit ?" usa la llave primaria,
+    // asi el costo de cada pagina es el mismo sin importar que tan profundo pagine el cliente
+    @Query(TODO_RESPONSE + "where t.id > :after order by t.id")
+    List<TodoResponse> findPageAfter(@Param("after") Long after, Limit limit);
+
+    // Igual que la anterior pero filtrando por estado (usa idx_status)
+    @Query(TODO_RESPONSE + "where t.status = :status and t.id > :after order by t.id")
+    List<TodoResponse> findPageByStatusAfter(@Param("status") TodoStatus status, @Param("after") Long after,
+            Limit limit);
+
+    @Query(TODO_RESPONSE + "where t.id = :id")
+    Optional<TodoResponse> findResponseById(@Param("id") Long id);
+
+    // Sin orden; quien llama ordena segun lo necesite
+    @Query(TODO_RESPONSE + "where t.id in :ids")
+    List<TodoResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
 }
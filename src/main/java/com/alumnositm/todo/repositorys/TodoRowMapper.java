@@ -0,0 +1,41 @@
+package com.alumnositm.todo.repositorys;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
+
+// Mapea una fila de la tabla todos a TodoResponse para las consultas hechas con JdbcTemplate.
+// Con un subconjunto de campos solo lee esas columnas (las demas no vienen en el select)
+public class TodoRowMapper implements RowMapper<TodoResponse> {
+
+    private final boolean title;
+    private final boolean description;
+    private final boolean status;
+    private final boolean version;
+
+    public TodoRowMapper() {
+        this(TodoField.ALL);
+    }
+
+    public TodoRowMapper(Set<TodoField> fields) {
+        this.title = fields.contains(TodoField.TITLE);
+        this.description = fields.contains(TodoField.DESCRIPTION);
+        this.status = fields.contains(TodoField.STATUS);
+        this.version = fields.contains(TodoField.VERSION);
+    }
+
+    @Override
+    public TodoResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new TodoResponse(rs.getLong("id"),
+                title ? rs.getString("title") : null,
+                description ? rs.getString("description") : null,
+                status ? TodoStatus.valueOf(rs.getString("status")) : null,
+                version ? rs.getLong("version") : null);
+    }
+}
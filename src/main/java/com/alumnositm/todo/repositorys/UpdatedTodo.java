@@ -0,0 +1,8 @@
+package com.alumnositm.todo.repositorys;
+
+import com.alumnositm.todo.helpers.TodoStatus;
+
+// Resultado del UPDATE de un todo (TodoJdbcRepository.updateRow): el estado del que salio y la
+// version que quedo, leidos en la misma sentencia
+public record UpdatedTodo(TodoStatus previousStatus, long version) {
+}
@@ -0,0 +1,31 @@
+package com.alumnositm.todo.services;
+
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.helpers.TodoStatus;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Version no bloqueante de TodoServices para el perfil reactive. Un Mono vacio equivale al null
+// de la version bloqueante; regresa los mismos TodoResponse para que los dos perfiles tengan el
+// mismo contrato JSON
+public interface ReactiveTodoServices {
+
+    Mono<TodoPageResponse> allTodos(Long after, int limit, TodoStatus status);
+
+    Mono<TodoResponse> createTodo(CreateTodoRequest createTodoRequest);
+
+    Mono<TodoResponse> findById(int idTodo);
+
+    Mono<TodoResponse> updateTodoById(int idTodo, UpdateTodoRequest entity);
+
+    Flux<TodoResponse> findTodosByTitle(String queryParam, int limit);
+
+    Mono<Boolean> deleteTodoById(int idTodo);
+
+    // Toda la tabla como flujo, leida del cursor conforme el cliente la consume
+    Flux<TodoResponse> exportTodos();
+}
@@ -1,22 +1,56 @@
 package com.alumnositm.todo.services;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.TodoFilter;
 import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoChangesResponse;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.dtos.response.TodoStatsResponse;
 import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
 
 public interface TodoServices {
 
-    List   <TodoEntity> allTodos();
+    // fields son las propiedades a leer y regresar (null = todas)
+    TodoPageResponse allTodos(Long after, int limit, TodoStatus status, Set<TodoField> fields);
 
-    TodoEntity createTodo(CreateTodoRequest createTodoRequest);
+    TodoResponse createTodo(CreateTodoRequest createTodoRequest);
 
-    TodoEntity findById(int idTodo);
+    // Alta masiva en un solo batch JDBC; regresa los todos creados en el mismo orden con su id
+    List<TodoEntity> createTodos(List<CreateTodoRequest> createTodoRequests);
 
-    TodoEntity updateTodoById(int idTodo, UpdateTodoRequest entity);
+    TodoResponse findById(int idTodo);
 
-    List<TodoEntity> findTodosByTitle(String queryParam);
+    // expectedVersion es la version de If-Match (null = sin condicion); si ya no coincide lanza
+    // OptimisticLockingFailureException. Regresa null si no existe
+    TodoResponse updateTodoById(int idTodo, UpdateTodoRequest entity, Long expectedVersion);
+
+    List<TodoResponse> findTodosByTitle(String queryParam, int limit, Set<TodoField> fields);
 
     boolean deleteTodoById(int idTodo);
+
+    // Cambio de estado masivo por lista de ids o por filtro (uno de los dos es null); regresa cuantos cambiaron
+    long updateStatus(List<Long> ids, TodoFilter filter, TodoStatus status);
+
+    // Borrado masivo por lista de ids o por filtro (uno de los dos es null); regresa cuantos se borraron
+    long deleteTodos(List<Long> ids, TodoFilter filter);
+
+    // Recorre toda la tabla sin cargarla en memoria, entregando cada fila al consumer
+    void exportTodos(Consumer<TodoResponse> consumer);
+
+    // Cambios registrados en el outbox con seq mayor a since, en orden, para sincronizar sin releer todo
+    TodoChangesResponse changesSince(long since, int limit);
+
+    // Version de la tabla para los ETags de listas y busquedas; cambia al confirmar cada escritura y
+    // no lee ningun todo
+    String changeVersion();
+
+    // Todos por estado desde los contadores en memoria; no consulta la base
+    TodoStatsResponse statusCounts();
 }
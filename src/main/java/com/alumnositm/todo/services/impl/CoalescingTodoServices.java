@@ -0,0 +1,137 @@
+package com.alumnositm.todo.services.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.TodoFilter;
+import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoChangesResponse;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.dtos.response.TodoStatsResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.SingleFlight;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.services.TodoServices;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// findById y findTodosByTitle con la misma llamada en curso no van otra vez a la base: esperan la
+// consulta que ya esta corriendo y regresan el mismo resultado (TodoResponse es inmutable). Asi un
+// todo o un termino muy pedido genera una consulta a la vez y no una por peticion.
+// Un findById que ya esta en la cache todoById va directo, esperar a otro hilo costaria mas que el hit.
+// Metricas: todos.singleflight.calls{operation, result=executed|coalesced} y
+// todos.singleflight.coalescing.ratio{operation}
+public class CoalescingTodoServices implements TodoServices {
+
+    static final String CALLS = "todos.singleflight.calls";
+    static final String RATIO = "todos.singleflight.coalescing.ratio";
+
+    private final TodoServices delegate;
+    // Vista de la cache todoById, igual que en MeteredTodoServices
+    private final Map<Object, Object> todoByIdCache;
+    private final SingleFlight<Integer, TodoResponse> findById = new SingleFlight<>();
+    private final SingleFlight<SearchKey, List<TodoResponse>> search = new SingleFlight<>();
+
+    private record SearchKey(String query, int limit, Set<TodoField> fields) {
+    }
+
+    public CoalescingTodoServices(TodoServices delegate, MeterRegistry meterRegistry, Map<Object, Object> todoByIdCache) {
+        this.delegate = delegate;
+        this.todoByIdCache = todoByIdCache;
+        register(meterRegistry, "findById", findById);
+        register(meterRegistry, "findTodosByTitle", search);
+    }
+
+    private static void register(MeterRegistry meterRegistry, String operation, SingleFlight<?, ?> singleFlight) {
+        FunctionCounter.builder(CALLS, singleFlight, SingleFlight::executed)
+                .description("Lecturas que fueron a la base o que esperaron una igual en curso")
+                .tag("operation", operation)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder(CALLS, singleFlight, SingleFlight::coalesced)
+                .description("Lecturas que fueron a la base o que esperaron una igual en curso")
+                .tag("operation", operation)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder(RATIO, singleFlight, SingleFlight::coalescingRatio)
+                .description("Fraccion de las lecturas que usaron el resultado de otra en curso")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public TodoResponse findById(int idTodo) {
+        if (todoByIdCache.containsKey(idTodo)) {
+            return delegate.findById(idTodo);
+        }
+        return findById.execute(idTodo, () -> delegate.findById(idTodo));
+    }
+
+    @Override
+    public List<TodoResponse> findTodosByTitle(String queryParam, int limit, Set<TodoField> fields) {
+        return search.execute(new SearchKey(queryParam, limit, fields),
+                () -> delegate.findTodosByTitle(queryParam, limit, fields));
+    }
+
+    @Override
+    public TodoPageResponse allTodos(Long after, int limit, TodoStatus status, Set<TodoField> fields) {
+        return delegate.allTodos(after, limit, status, fields);
+    }
+
+    @Override
+    public TodoResponse createTodo(CreateTodoRequest createTodoRequest) {
+        return delegate.createTodo(createTodoRequest);
+    }
+
+    @Override
+    public List<TodoEntity> createTodos(List<CreateTodoRequest> createTodoRequests) {
+        return delegate.createTodos(createTodoRequests);
+    }
+
+    @Override
+    public TodoResponse updateTodoById(int idTodo, UpdateTodoRequest entity, Long expectedVersion) {
+        return delegate.updateTodoById(idTodo, entity, expectedVersion);
+    }
+
+    @Override
+    public boolean deleteTodoById(int idTodo) {
+        return delegate.deleteTodoById(idTodo);
+    }
+
+    @Override
+    public long updateStatus(List<Long> ids, TodoFilter filter, TodoStatus status) {
+        return delegate.updateStatus(ids, filter, status);
+    }
+
+    @Override
+    public long deleteTodos(List<Long> ids, TodoFilter filter) {
+        return delegate.deleteTodos(ids, filter);
+    }
+
+    @Override
+    public void exportTodos(Consumer<TodoResponse> consumer) {
+        delegate.exportTodos(consumer);
+    }
+
+    @Override
+    public TodoChangesResponse changesSince(long since, int limit) {
+        return delegate.changesSince(since, limit);
+    }
+
+    @Override
+    public String changeVersion() {
+        return delegate.changeVersion();
+    }
+
+    @Override
+    public TodoStatsResponse statusCounts() {
+        return delegate.statusCounts();
+    }
+}
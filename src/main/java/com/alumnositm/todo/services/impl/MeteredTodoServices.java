@@ -0,0 +1,277 @@
+package com.alumnositm.todo.services.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.TodoFilter;
+import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoChangesResponse;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.dtos.response.TodoStatsResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.services.TodoServices;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Mide cada llamada a TodoServices con el timer todos.service (tags method, outcome, cache).
+// Los timers de los casos normales se registran al construir para que el camino caliente sea
+// solo nanoTime + record; los de error se crean al primer error. Envuelve al proxy de
+// TodoServicesImpl, asi que el tiempo incluye cache y transaccion.
+public class MeteredTodoServices implements TodoServices {
+
+    static final String TIMER = "todos.service";
+    static final String BULK_ROWS = "todos.bulk.rows";
+
+    private final TodoServices delegate;
+    private final MeterRegistry meterRegistry;
+    // Vista de la cache todoById; containsKey no cuenta como hit/miss en las estadisticas de Caffeine
+    private final Map<Object, Object> todoByIdCache;
+
+    private final Timer allTodos;
+    private final Timer createTodo;
+    private final Timer createTodos;
+    private final Timer findByIdHit;
+    private final Timer findByIdHitNotFound;
+    private final Timer findByIdMiss;
+    private final Timer findByIdMissNotFound;
+    private final Timer updateFound;
+    private final Timer updateNotFound;
+    private final Timer deleteFound;
+    private final Timer deleteNotFound;
+    private final Timer search;
+    private final Timer updateStatus;
+    private final Timer deleteTodos;
+    private final Timer export;
+    private final Timer changesSince;
+    private final Timer changeVersion;
+    private final Timer statusCounts;
+    private final Timer updateConflict;
+    private final Counter createdRows;
+    private final Counter statusRows;
+    private final Counter deletedRows;
+
+    public MeteredTodoServices(TodoServices delegate, MeterRegistry meterRegistry, Map<Object, Object> todoByIdCache) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.todoByIdCache = todoByIdCache;
+        this.allTodos = timer("allTodos", "success", "none");
+        this.createTodo = timer("createTodo", "success", "none");
+        this.createTodos = timer("createTodos", "success", "none");
+        this.findByIdHit = timer("findById", "found", "hit");
+        this.findByIdHitNotFound = timer("findById", "not_found", "hit");
+        this.findByIdMiss = timer("findById", "found", "miss");
+        this.findByIdMissNotFound = timer("findById", "not_found", "miss");
+        this.updateFound = timer("updateTodoById", "found", "none");
+        this.updateNotFound = timer("updateTodoById", "not_found", "none");
+        this.deleteFound = timer("deleteTodoById", "found", "none");
+        this.deleteNotFound = timer("deleteTodoById", "not_found", "none");
+        this.search = timer("findTodosByTitle", "success", "none");
+        this.updateStatus = timer("updateStatus", "success", "none");
+        this.deleteTodos = timer("deleteTodos", "success", "none");
+        this.export = timer("exportTodos", "success", "none");
+        this.changesSince = timer("changesSince", "success", "none");
+        this.changeVersion = timer("changeVersion", "success", "none");
+        this.statusCounts = timer("statusCounts", "success", "none");
+        this.updateConflict = timer("updateTodoById", "conflict", "none");
+        this.createdRows = bulkRows("create");
+        this.statusRows = bulkRows("status");
+        this.deletedRows = bulkRows("delete");
+    }
+
+    private Timer timer(String method, String outcome, String cache) {
+        return Timer.builder(TIMER)
+                .description("Llamadas a TodoServices")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .tag("cache", cache)
+                .register(meterRegistry);
+    }
+
+    private Counter bulkRows(String operation) {
+        return Counter.builder(BULK_ROWS)
+                .description("Filas creadas, cambiadas o borradas por las operaciones masivas")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private RuntimeException recordError(String method, String cache, long start, RuntimeException e) {
+        timer(method, "error", cache).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return e;
+    }
+
+    @Override
+    public TodoPageResponse allTodos(Long after, int limit, TodoStatus status, Set<TodoField> fields) {
+        long start = System.nanoTime();
+        try {
+            TodoPageResponse page = delegate.allTodos(after, limit, status, fields);
+            allTodos.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return page;
+        } catch (RuntimeException e) {
+            throw recordError("allTodos", "none", start, e);
+        }
+    }
+
+    @Override
+    public TodoResponse createTodo(CreateTodoRequest createTodoRequest) {
+        long start = System.nanoTime();
+        try {
+            TodoResponse saved = delegate.createTodo(createTodoRequest);
+            createTodo.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return saved;
+        } catch (RuntimeException e) {
+            throw recordError("createTodo", "none", start, e);
+        }
+    }
+
+    @Override
+    public List<TodoEntity> createTodos(List<CreateTodoRequest> createTodoRequests) {
+        long start = System.nanoTime();
+        try {
+            List<TodoEntity> saved = delegate.createTodos(createTodoRequests);
+            createTodos.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            createdRows.increment(saved.size());
+            return saved;
+        } catch (RuntimeException e) {
+            throw recordError("createTodos", "none", start, e);
+        }
+    }
+
+    @Override
+    public TodoResponse findById(int idTodo) {
+        long start = System.nanoTime();
+        boolean hit = todoByIdCache.containsKey(idTodo);
+        try {
+            TodoResponse todo = delegate.findById(idTodo);
+            Timer timer = hit
+                    ? (todo != null ? findByIdHit : findByIdHitNotFound)
+                    : (todo != null ? findByIdMiss : findByIdMissNotFound);
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return todo;
+        } catch (RuntimeException e) {
+            throw recordError("findById", hit ? "hit" : "miss", start, e);
+        }
+    }
+
+    @Override
+    public TodoResponse updateTodoById(int idTodo, UpdateTodoRequest entity, Long expectedVersion) {
+        long start = System.nanoTime();
+        try {
+            TodoResponse todo = delegate.updateTodoById(idTodo, entity, expectedVersion);
+            (todo != null ? updateFound : updateNotFound).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return todo;
+        } catch (OptimisticLockingFailureException e) {
+            updateConflict.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        } catch (RuntimeException e) {
+            throw recordError("updateTodoById", "none", start, e);
+        }
+    }
+
+    @Override
+    public List<TodoResponse> findTodosByTitle(String queryParam, int limit, Set<TodoField> fields) {
+        long start = System.nanoTime();
+        try {
+            List<TodoResponse> todos = delegate.findTodosByTitle(queryParam, limit, fields);
+            search.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return todos;
+        } catch (RuntimeException e) {
+            throw recordError("findTodosByTitle", "none", start, e);
+        }
+    }
+
+    @Override
+    public boolean deleteTodoById(int idTodo) {
+        long start = System.nanoTime();
+        try {
+            boolean deleted = delegate.deleteTodoById(idTodo);
+            (deleted ? deleteFound : deleteNotFound).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return deleted;
+        } catch (RuntimeException e) {
+            throw recordError("deleteTodoById", "none", start, e);
+        }
+    }
+
+    @Override
+    public long updateStatus(List<Long> ids, TodoFilter filter, TodoStatus status) {
+        long start = System.nanoTime();
+        try {
+            long changed = delegate.updateStatus(ids, filter, status);
+            updateStatus.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            statusRows.increment(changed);
+            return changed;
+        } catch (RuntimeException e) {
+            throw recordError("updateStatus", "none", start, e);
+        }
+    }
+
+    @Override
+    public long deleteTodos(List<Long> ids, TodoFilter filter) {
+        long start = System.nanoTime();
+        try {
+            long deleted = delegate.deleteTodos(ids, filter);
+            deleteTodos.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            deletedRows.increment(deleted);
+            return deleted;
+        } catch (RuntimeException e) {
+            throw recordError("deleteTodos", "none", start, e);
+        }
+    }
+
+    @Override
+    public void exportTodos(Consumer<TodoResponse> consumer) {
+        long start = System.nanoTime();
+        try {
+            delegate.exportTodos(consumer);
+            export.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            throw recordError("exportTodos", "none", start, e);
+        }
+    }
+
+    @Override
+    public TodoChangesResponse changesSince(long since, int limit) {
+        long start = System.nanoTime();
+        try {
+            TodoChangesResponse changes = delegate.changesSince(since, limit);
+            changesSince.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return changes;
+        } catch (RuntimeException e) {
+            throw recordError("changesSince", "none", start, e);
+        }
+    }
+
+    @Override
+    public String changeVersion() {
+        long start = System.nanoTime();
+        try {
+            String version = delegate.changeVersion();
+            changeVersion.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return version;
+        } catch (RuntimeException e) {
+            throw recordError("changeVersion", "none", start, e);
+        }
+    }
+
+    @Override
+    public TodoStatsResponse statusCounts() {
+        long start = System.nanoTime();
+        try {
+            TodoStatsResponse stats = delegate.statusCounts();
+            statusCounts.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return stats;
+        } catch (RuntimeException e) {
+            throw recordError("statusCounts", "none", start, e);
+        }
+    }
+}
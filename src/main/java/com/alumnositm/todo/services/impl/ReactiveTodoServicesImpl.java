@@ -0,0 +1,93 @@
+package com.alumnositm.todo.services.impl;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.repositorys.TodoR2dbcRepository;
+import com.alumnositm.todo.services.ReactiveTodoServices;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveTodoServicesImpl implements ReactiveTodoServices {
+
+    private final TodoR2dbcRepository todoR2dbcRepository;
+
+    public ReactiveTodoServicesImpl(TodoR2dbcRepository todoR2dbcRepository) {
+        this.todoR2dbcRepository = todoR2dbcRepository;
+    }
+
+    @Override
+    public Mono<TodoPageResponse> allTodos(Long after, int limit, TodoStatus status) {
+        long cursor = after == null ? 0L : after;
+        int pageSize = Math.max(1, Math.min(limit, TodoServicesImpl.MAX_PAGE_SIZE));
+        // Igual que en TodoServicesImpl: un registro de mas para saber si hay pagina siguiente
+        return todoR2dbcRepository.findPage(cursor, status, pageSize + 1)
+                .collectList()
+                .map(todos -> {
+                    Long nextCursor = null;
+                    List<TodoEntity> page = todos;
+                    if (todos.size() > pageSize) {
+                        page = todos.subList(0, pageSize);
+                        nextCursor = page.get(pageSize - 1).getId();
+                    }
+                    return new TodoPageResponse(page.stream().map(TodoResponse::from).toList(), nextCursor);
+                });
+    }
+
+    @Override
+    public Mono<TodoResponse> createTodo(CreateTodoRequest createTodoRequest) {
+        TodoEntity entity = new TodoEntity();
+        entity.setTitle(createTodoRequest.getTitle());
+        entity.setDescription(createTodoRequest.getDescription());
+        entity.setStatus(TodoStatus.PENDING);
+        return todoR2dbcRepository.insert(entity).map(TodoResponse::from);
+    }
+
+    @Override
+    public Mono<TodoResponse> findById(int idTodo) {
+        return todoR2dbcRepository.findById(idTodo).map(TodoResponse::from);
+    }
+
+    @Override
+    public Mono<TodoResponse> updateTodoById(int idTodo, UpdateTodoRequest entity) {
+        TodoEntity todoEntity = new TodoEntity();
+        todoEntity.setId((long) idTodo);
+        todoEntity.setTitle(entity.getTitle());
+        todoEntity.setDescription(entity.getDescription());
+        // Igual que TodoServicesImpl.updateTodoById: la misma ruta PUT debe dejar el mismo estado en
+        // los dos perfiles
+        todoEntity.setStatus(TodoStatus.COMPLETED);
+        // Se relee la fila para devolver la version que asigno la base de datos
+        return todoR2dbcRepository.update(todoEntity)
+                .filter(updated -> updated > 0)
+                .flatMap(updated -> todoR2dbcRepository.findById(idTodo))
+                .map(TodoResponse::from);
+    }
+
+    @Override
+    public Flux<TodoResponse> findTodosByTitle(String queryParam, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, TodoServicesImpl.MAX_SEARCH_LIMIT));
+        return todoR2dbcRepository.searchByTitle(queryParam.trim(), pageSize).map(TodoResponse::from);
+    }
+
+    @Override
+    public Mono<Boolean> deleteTodoById(int idTodo) {
+        return todoR2dbcRepository.deleteById(idTodo).map(deleted -> deleted > 0);
+    }
+
+    @Override
+    public Flux<TodoResponse> exportTodos() {
+        return todoR2dbcRepository.findAll().map(TodoResponse::from);
+    }
+}
@@ -1,42 +1,108 @@
 package com.alumnositm.todo.services.impl;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
-import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.alumnositm.todo.config.CacheConfig;
 import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.TodoFilter;
 import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoChangesResponse;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.dtos.response.TodoStatsResponse;
 import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.events.TodoChangedEvent;
+import com.alumnositm.todo.events.TodoStatusCountsChangedEvent;
+import com.alumnositm.todo.events.TodosBulkChangedEvent;
+import com.alumnositm.todo.helpers.TodoField;
 import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.outbox.TodoOutbox;
+import com.alumnositm.todo.repositorys.ChangedTodos;
+import com.alumnositm.todo.repositorys.TodoJdbcRepository;
 import com.alumnositm.todo.repositorys.TodoRepository;
+import com.alumnositm.todo.repositorys.UpdatedTodo;
 import com.alumnositm.todo.services.TodoServices;
+import com.alumnositm.todo.services.search.TodoSearchEngine;
+import com.alumnositm.todo.stats.TodoStatusCounters;
 
 @Service
 public class TodoServicesImpl implements TodoServices {
 
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_SEARCH_LIMIT = 100;
+    static final int BULK_CHUNK_SIZE = 1000;
+
     private final TodoRepository todoRepository;
-    private final JdbcTemplate jdbcTemplate;
+    private final TodoJdbcRepository todoJdbcRepository;
+    private final TodoSearchEngine todoSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoOutbox todoOutbox;
+    private final TransactionOperations transactionOperations;
+    private final TodoStatusCounters todoStatusCounters;
+    private final CacheManager cacheManager;
 
-    public TodoServicesImpl(TodoRepository todoRepository, JdbcTemplate jdbcTemplate) {
+    public TodoServicesImpl(TodoRepository todoRepository, TodoJdbcRepository todoJdbcRepository,
+            TodoSearchEngine todoSearchEngine, ApplicationEventPublisher eventPublisher, TodoOutbox todoOutbox,
+            TransactionOperations transactionOperations, TodoStatusCounters todoStatusCounters,
+            CacheManager cacheManager) {
         this.todoRepository = todoRepository;
-        this.jdbcTemplate = jdbcTemplate;
+        this.todoJdbcRepository = todoJdbcRepository;
+        this.todoSearchEngine = todoSearchEngine;
+        this.eventPublisher = eventPublisher;
+        this.todoOutbox = todoOutbox;
+        this.transactionOperations = transactionOperations;
+        this.todoStatusCounters = todoStatusCounters;
+        this.cacheManager = cacheManager;
     }
 
+    // Las lecturas van en transacciones de solo lectura: Hibernate no hace flush ni dirty checking
+    // y el driver puede mandar la consulta a una replica
     @Override
-    public List<TodoEntity> allTodos() {
-        // List<TodoEntity> todos = List.of(
-        //     new TodoEntity(1L, "Learn Spring Boot", "Complete the Spring Boot tutorial", TodoStatus.PENDING),
-        //     new TodoEntity(2L, "Build a REST API", "Create a RESTful API using Spring Boot", TodoStatus.IN_PROGRESS),
-        //     new TodoEntity(3L, "Write Unit Tests", "Write unit tests for the application", TodoStatus.COMPLETED)
-        // );
-       List<TodoEntity> todos  = todoRepository.findAll();
-        return todos;
+    @Transactional(readOnly = true)
+    public TodoPageResponse allTodos(Long after, int limit, TodoStatus status, Set<TodoField> fields) {
+        long cursor = after == null ? 0L : after;
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Se pide un registro de mas para saber si existe una pagina siguiente
+        Limit fetch = Limit.of(pageSize + 1);
+        List<TodoResponse> todos;
+        if (fields == null || fields.containsAll(TodoField.ALL)) {
+            todos = status == null
+                    ? todoRepository.findPageAfter(cursor, fetch)
+                    : todoRepository.findPageByStatusAfter(status, cursor, fetch);
+        } else {
+            // Solo algunas columnas: el select se arma por JDBC con las columnas pedidas
+            todos = todoJdbcRepository.findPage(cursor, status, pageSize + 1, fields);
+        }
+
+        Long nextCursor = null;
+        if (todos.size() > pageSize) {
+            todos = todos.subList(0, pageSize);
+            nextCursor = todos.get(pageSize - 1).id();
+        }
+        return new TodoPageResponse(todos, nextCursor);
     }
 
     @Override
-    public TodoEntity createTodo(CreateTodoRequest createTodoRequest) {
+    @CachePut(cacheNames = CacheConfig.TODO_BY_ID, key = "#result.id().intValue()")
+    @Transactional
+    public TodoResponse createTodo(CreateTodoRequest createTodoRequest) {
     //    TodoEntity entity= TodoEntity.builder()
     //    .title(createTodoRequest.getTitle())
     //    .description(createTodoRequest.getDescription())
@@ -48,58 +114,192 @@ public class TodoServicesImpl implements TodoServices {
     entity.setDescription(createTodoRequest.getDescription());
     entity.setStatus(TodoStatus.PENDING);
 
-       return todoRepository.save(entity);
+       TodoEntity saved = todoRepository.save(entity);
+       todoOutbox.recordCreated(List.of(saved));
+       eventPublisher.publishEvent(TodoChangedEvent.created(saved));
+       eventPublisher.publishEvent(TodoStatusCountsChangedEvent.created(TodoStatus.PENDING, 1));
+       return TodoResponse.from(saved);
     }
 
     @Override
-    public TodoEntity findById(int idTodo) {
-       TodoEntity todo = todoRepository.findById((long)idTodo).orElse(null);
+    @Transactional
+    public List<TodoEntity> createTodos(List<CreateTodoRequest> createTodoRequests) {
+        List<TodoEntity> entities = new ArrayList<>(createTodoRequests.size());
+        for (CreateTodoRequest request : createTodoRequests) {
+            TodoEntity entity = new TodoEntity();
+            entity.setTitle(request.getTitle());
+            entity.setDescription(request.getDescription());
+            entity.setStatus(TodoStatus.PENDING);
+            entities.add(entity);
+        }
+        todoJdbcRepository.insertAll(entities);
+        todoOutbox.recordCreated(entities);
+        // Un solo evento para todo el lote: uno por fila llenaria el buffer de cada cliente SSE
+        eventPublisher.publishEvent(TodosBulkChangedEvent.created(entities));
+        eventPublisher.publishEvent(TodoStatusCountsChangedEvent.created(TodoStatus.PENDING, entities.size()));
+        evictAfterCommit(entities);
+        return entities;
+    }
+
+    // Un id recien creado pudo quedar en todoById como "no encontrado"; se quita despues del commit
+    // (antes, una lectura podria volver a guardar el 404). No se agregan los nuevos para no desplazar
+    // de la cache a los todos leidos con frecuencia en una carga grande
+    private void evictAfterCommit(List<TodoEntity> entities) {
+        Cache todoById = cacheManager.getCache(CacheConfig.TODO_BY_ID);
+        if (todoById == null) {
+            return;
+        }
+        Runnable evict = () -> {
+            for (TodoEntity entity : entities) {
+                todoById.evict(entity.getId().intValue());
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TODO_BY_ID, key = "#idTodo")
+    @Transactional(readOnly = true)
+    public TodoResponse findById(int idTodo) {
+       TodoResponse todo = todoRepository.findResponseById((long)idTodo).orElse(null);
        return todo;
     }
 
     @Override
-    public TodoEntity updateTodoById(int idTodo, UpdateTodoRequest entity) {
-        TodoEntity todoEntity = todoRepository.findById((long)idTodo).orElse(null);
-        if(todoEntity!=null){
-            todoEntity.setTitle(entity.getTitle());
-            todoEntity.setDescription(entity.getDescription());
-            // el error viene desde aqui
-            todoEntity.setStatus(TodoStatus.COMPLETED);
-            todoRepository.save(todoEntity);
-            return todoEntity;
+    @CacheEvict(cacheNames = CacheConfig.TODO_BY_ID, key = "#idTodo")
+    @Transactional
+    public TodoResponse updateTodoById(int idTodo, UpdateTodoRequest entity, Long expectedVersion) {
+        // Un solo UPDATE (con la version esperada si hay If-Match) que regresa el estado anterior y la
+        // version nueva; como se escriben todas las columnas la respuesta se arma sin volver a leer
+        TodoEntity todoEntity = new TodoEntity();
+        todoEntity.setId((long) idTodo);
+        todoEntity.setTitle(entity.getTitle());
+        todoEntity.setDescription(entity.getDescription());
+        // el error viene desde aqui
+        todoEntity.setStatus(TodoStatus.COMPLETED);
+        UpdatedTodo updated = todoJdbcRepository.updateRow(todoEntity.getId(), expectedVersion, todoEntity.getTitle(),
+                todoEntity.getDescription(), todoEntity.getStatus());
+        if (updated == null) {
+            // Solo en este caso se vuelve a leer: para distinguir 404 de 412
+            if (expectedVersion != null && todoRepository.existsById(todoEntity.getId())) {
+                throw new OptimisticLockingFailureException(
+                        "El todo " + idTodo + " ya no esta en la version " + expectedVersion);
+            }
+            return null;
         }
-        return null;
-
+        todoEntity.setVersion(updated.version());
+        todoOutbox.recordUpdated(todoEntity);
+        eventPublisher.publishEvent(TodoChangedEvent.updated(todoEntity));
+        eventPublisher.publishEvent(TodoStatusCountsChangedEvent.moved(updated.previousStatus(), todoEntity.getStatus()));
+        return TodoResponse.from(todoEntity);
     }
 
     @Override
-    public List<TodoEntity> findTodosByTitle(String queryParam) {
-        String sql = "Select * From todos where title like '%"+queryParam+"%'";
-        RowMapper<TodoEntity> rowMapper = (rs,rowNum)->{
-            TodoEntity todo = new TodoEntity();
-            todo.setId(rs.getLong("id"));
-            todo.setTitle(rs.getString("title"));
-            todo.setDescription(rs.getString("description"));
-            todo.setStatus(TodoStatus.valueOf(rs.getString("status")));
-            return todo;
-        };
+    @Transactional(readOnly = true)
+    public List<TodoResponse> findTodosByTitle(String queryParam, int limit, Set<TodoField> fields) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        return todoSearchEngine.search(queryParam.trim(), pageSize, fields == null ? TodoField.ALL : fields);
+    }
 
-        List<TodoEntity> todos = jdbcTemplate.query(sql, rowMapper);
-        return todos;
+    @Override
+    public void exportTodos(Consumer<TodoResponse> consumer) {
+        todoJdbcRepository.forEach(consumer);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.TODO_BY_ID, key = "#idTodo")
+    @Transactional
     public boolean deleteTodoById(int idTodo) {
-          TodoEntity todoEntity = todoRepository.findById((long)idTodo).orElse(null);
-        if(todoEntity!=null){
-            todoRepository.delete(todoEntity);
-            return true;
+        // Un solo DELETE que regresa el estado de la fila borrada (null = no existia)
+        TodoStatus previous = todoJdbcRepository.deleteRow(idTodo);
+        if (previous == null) {
+            return false;
         }
-        return false;
+        todoOutbox.recordDeleted(idTodo);
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(idTodo));
+        eventPublisher.publishEvent(TodoStatusCountsChangedEvent.deleted(previous));
+        return true;
     }
 
-    
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TODO_BY_ID, allEntries = true)
+    public long updateStatus(List<Long> ids, TodoFilter filter, TodoStatus status) {
+        return forEachChunk(ids, (chunk, afterId) -> {
+            ChangedTodos changed = todoJdbcRepository.updateStatusChunk(chunk, filter, afterId, BULK_CHUNK_SIZE, status);
+            if (changed.ids().length > 0) {
+                todoOutbox.recordStatusChanged(changed.ids(), status);
+                eventPublisher.publishEvent(TodosBulkChangedEvent.statusChanged(changed.ids(), status));
+                eventPublisher.publishEvent(TodoStatusCountsChangedEvent.moved(changed.previousCounts(), status));
+            }
+            return changed.ids();
+        });
+    }
 
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TODO_BY_ID, allEntries = true)
+    public long deleteTodos(List<Long> ids, TodoFilter filter) {
+        return forEachChunk(ids, (chunk, afterId) -> {
+            ChangedTodos deleted = todoJdbcRepository.deleteChunk(chunk, filter, afterId, BULK_CHUNK_SIZE);
+            if (deleted.ids().length > 0) {
+                todoOutbox.recordDeleted(deleted.ids());
+                eventPublisher.publishEvent(TodosBulkChangedEvent.deleted(deleted.ids()));
+                eventPublisher.publishEvent(TodoStatusCountsChangedEvent.deleted(deleted.previousCounts()));
+            }
+            return deleted.ids();
+        });
+    }
 
+    @Override
+    public TodoChangesResponse changesSince(long since, int limit) {
+        return todoOutbox.changesSince(since, limit);
+    }
+
+    @Override
+    public String changeVersion() {
+        return todoOutbox.currentVersion();
+    }
 
+    @Override
+    public TodoStatsResponse statusCounts() {
+        return todoStatusCounters.snapshot();
+    }
+
+    // Ejecuta la operacion en bloques de BULK_CHUNK_SIZE, cada uno en su propia transaccion corta,
+    // para no bloquear millones de filas ni mantener una transaccion abierta mucho tiempo.
+    // El bloque y sus registros del outbox se confirman en la misma transaccion
+    private long forEachChunk(List<Long> ids, ChunkOperation chunkOperation) {
+        ChunkOperation operation = (chunk, afterId) -> transactionOperations.execute(
+                tx -> chunkOperation.apply(chunk, afterId));
+        long affected = 0;
+        if (ids != null) {
+            List<Long> sorted = ids.stream().distinct().sorted().toList();
+            for (int from = 0; from < sorted.size(); from += BULK_CHUNK_SIZE) {
+                List<Long> chunk = sorted.subList(from, Math.min(from + BULK_CHUNK_SIZE, sorted.size()));
+                affected += operation.apply(chunk, 0L).length;
+            }
+            return affected;
+        }
+        long afterId = 0L;
+        while (true) {
+            long[] changed = operation.apply(null, afterId);
+            affected += changed.length;
+            if (changed.length < BULK_CHUNK_SIZE) {
+                return affected;
+            }
+            afterId = changed[changed.length - 1];
+        }
+    }
+
+    private interface ChunkOperation {
+        long[] apply(List<Long> ids, long afterId);
+    }
 }
@@ -0,0 +1,252 @@
+package com.alumnositm.todo.services.search;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.events.TodoChangedEvent;
+import com.alumnositm.todo.events.TodosBulkChangedEvent;
+import com.alumnositm.todo.helpers.TodoField;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Cache de resultados de busqueda delante del motor configurado (Caffeine: W-TinyLFU, asi una
+// consulta rara no saca de la cache a las frecuentes).
+// - La llave es la consulta sin espacios a los lados y en minusculas, que para todos los motores
+//   da el mismo resultado. Se guardan todas las propiedades y ?fields= se recorta al responder: una
+//   entrada sirve para cualquier fields y la invalidacion necesita titulo e id. A cambio, un miss con
+//   ?fields= lee todas las columnas (la reduccion de columnas solo aplica sin cache).
+// - Los motores ordenan de forma total, asi que el resultado con limit=10 es el inicio del de
+//   limit=100: una entrada sirve para cualquier limit menor o igual al que se consulto.
+// - Un alta, cambio o baja (despues del commit) solo borra las entradas que contienen ese todo o
+//   cuya consulta coincide con el titulo nuevo (TodoSearchEngine.matches), no toda la cache. Las
+//   entradas que contienen un id se buscan en keysById; solo las altas y los cambios de titulo
+//   recorren las llaves para llamar a matches, y un alta masiva grande vacia la cache en su lugar.
+// - Si hubo escrituras mientras se consultaba la base, el resultado se regresa pero no se guarda.
+// - Los cambios hechos en otras instancias no llegan aqui; ttl limita cuanto puede durar ese atraso.
+public class CachingTodoSearchEngine implements TodoSearchEngine {
+
+    // Llamadas a matches que una escritura puede hacer antes de preferir vaciar la cache
+    static final long MAX_MATCHES_PER_WRITE = 100_000;
+
+    private final TodoSearchEngine delegate;
+    private final Cache<String, CachedSearch> cache;
+    // id -> llaves cuyas entradas lo contienen. Puede tener llaves de mas (solo causan un miss),
+    // nunca de menos: se agrega despues de guardar la entrada y antes de revisar writes
+    private final Map<Long, Set<String>> keysById = new ConcurrentHashMap<>();
+    // Escrituras vistas hasta ahora; una consulta que termina con otro valor no se guarda
+    private final AtomicLong writes = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Timer hitAge;
+    private final Counter invalidated;
+    private final Counter discarded;
+
+    // loadedAt en System.nanoTime(); limit es el que se pidio al motor
+    private record CachedSearch(List<TodoResponse> todos, int limit, long loadedAt) {
+
+        // Sirve si se consulto con un limit mayor o igual, o si el resultado ya venia completo
+        boolean covers(int requested) {
+            return requested <= limit || todos.size() < limit;
+        }
+
+        boolean contains(long id) {
+            for (TodoResponse todo : todos) {
+                if (todo.id() == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public CachingTodoSearchEngine(TodoSearchEngine delegate, long maximumSize, Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run)
+                .removalListener(this::unindex)
+                .build();
+        FunctionCounter.builder("todos.search.cache.requests", hits, LongAdder::sum)
+                .description("Busquedas respondidas desde la cache o desde el motor")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("todos.search.cache.requests", misses, LongAdder::sum)
+                .description("Busquedas respondidas desde la cache o desde el motor")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("todos.search.cache.hit.ratio", this, CachingTodoSearchEngine::hitRatio)
+                .description("Fraccion de las busquedas respondidas desde la cache")
+                .register(meterRegistry);
+        Gauge.builder("todos.search.cache.size", cache, Cache::estimatedSize)
+                .description("Consultas guardadas en la cache de busqueda")
+                .register(meterRegistry);
+        this.hitAge = Timer.builder("todos.search.cache.hit.age")
+                .description("Antiguedad del resultado entregado en cada hit (atraso maximo posible)")
+                .register(meterRegistry);
+        this.invalidated = Counter.builder("todos.search.cache.invalidations")
+                .description("Entradas borradas por un alta, cambio o baja que las afectaba")
+                .tag("reason", "write")
+                .register(meterRegistry);
+        this.discarded = Counter.builder("todos.search.cache.invalidations")
+                .description("Entradas borradas por un alta, cambio o baja que las afectaba")
+                .tag("reason", "concurrent-write")
+                .register(meterRegistry);
+    }
+
+    double hitRatio() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+
+    @Override
+    public List<TodoResponse> search(String query, int limit, Set<TodoField> fields) {
+        String key = query.trim().toLowerCase(Locale.ROOT);
+        CachedSearch cached = cache.getIfPresent(key);
+        if (cached != null && cached.covers(limit)) {
+            hits.increment();
+            hitAge.record(System.nanoTime() - cached.loadedAt(), TimeUnit.NANOSECONDS);
+        } else {
+            misses.increment();
+            cached = load(key, limit);
+        }
+        return view(cached.todos(), limit, fields);
+    }
+
+    private CachedSearch load(String key, int limit) {
+        long seen = writes.get();
+        List<TodoResponse> todos = List.copyOf(delegate.search(key, limit, TodoField.ALL));
+        CachedSearch loaded = new CachedSearch(todos, limit, System.nanoTime());
+        cache.put(key, loaded);
+        for (TodoResponse todo : todos) {
+            keysById.computeIfAbsent(todo.id(), id -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        // Se guarda primero y luego se revisa: una escritura que ya recorrio la cache sin ver esta
+        // entrada dejo writes distinto, y entonces se quita
+        if (writes.get() != seen && cache.asMap().remove(key, loaded)) {
+            discarded.increment();
+        }
+        return loaded;
+    }
+
+    // Al salir una entrada; si la llave ya tiene otra entrada con el mismo id, esa sigue indexada
+    private void unindex(String key, CachedSearch removed, RemovalCause cause) {
+        if (key == null || removed == null) {
+            return;
+        }
+        CachedSearch current = cache.asMap().get(key);
+        for (TodoResponse todo : removed.todos()) {
+            if (current != null && current.contains(todo.id())) {
+                continue;
+            }
+            keysById.computeIfPresent(todo.id(), (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private static List<TodoResponse> view(List<TodoResponse> todos, int limit, Set<TodoField> fields) {
+        List<TodoResponse> page = todos.size() > limit ? todos.subList(0, limit) : todos;
+        if (fields.containsAll(TodoField.ALL)) {
+            return page;
+        }
+        List<TodoResponse> projected = new ArrayList<>(page.size());
+        for (TodoResponse todo : page) {
+            projected.add(todo.only(fields));
+        }
+        return projected;
+    }
+
+    @Override
+    public boolean matches(String query, String title, String description) {
+        return delegate.matches(query, title, description);
+    }
+
+    // Despues de las demas, en particular del indice invertido (ver su @Order)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        writes.incrementAndGet();
+        invalidateContaining(event.id());
+        if (event.todo() != null) {
+            invalidateMatching(List.of(event.todo()));
+        }
+    }
+
+    // Altas masivas: los ids son nuevos, solo importa a que consultas coinciden. Cambios de estado y
+    // bajas masivas no cambian que consultas coinciden, solo afectan a los resultados que ya
+    // contienen alguno de esos ids
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosChanged(TodosBulkChangedEvent event) {
+        writes.incrementAndGet();
+        if (event.type() == TodoChangedEvent.Type.CREATED) {
+            invalidateMatching(event.todos());
+            return;
+        }
+        for (long id : event.ids()) {
+            invalidateContaining(id);
+        }
+    }
+
+    private void invalidateContaining(long id) {
+        Set<String> keys = keysById.remove(id);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            if (cache.asMap().remove(key) != null) {
+                invalidated.increment();
+            }
+        }
+    }
+
+    // Recorre las llaves (no los resultados) una vez por todo; si el lote es tan grande que eso
+    // costaria mas que volver a consultar, se vacia la cache
+    private void invalidateMatching(List<TodoEntity> todos) {
+        long size = cache.estimatedSize();
+        if (size == 0) {
+            return;
+        }
+        if (size * todos.size() > MAX_MATCHES_PER_WRITE) {
+            invalidated.increment(size);
+            cache.invalidateAll();
+            return;
+        }
+        for (String key : cache.asMap().keySet()) {
+            for (TodoEntity todo : todos) {
+                if (delegate.matches(key, todo.getTitle(), todo.getDescription())) {
+                    if (cache.asMap().remove(key) != null) {
+                        invalidated.increment();
+                    }
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.alumnositm.todo.services.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.events.TodoChangedEvent;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.events.TodosBulkChangedEvent;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.repositorys.TodoJdbcRepository;
+import com.alumnositm.todo.repositorys.TodoRepository;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+// Responde las busquedas desde TodoInvertedIndex y solo lee de la base los ids encontrados.
+// Un documento coincide cuando contiene todas las palabras de la consulta (no subcadenas).
+// Mientras el indice se reconstruye al arrancar, las busquedas van al motor de la base de datos.
+@Slf4j
+public class InvertedIndexTodoSearchEngine implements TodoSearchEngine {
+
+    private final TodoInvertedIndex index;
+    private final TodoRepository todoRepository;
+    private final TodoJdbcRepository todoJdbcRepository;
+    private final TodoSearchEngine fallback;
+    private final Timer rebuildTimer;
+    private volatile boolean ready;
+
+    public InvertedIndexTodoSearchEngine(TodoInvertedIndex index, TodoRepository todoRepository,
+            TodoJdbcRepository todoJdbcRepository, TodoSearchEngine fallback, MeterRegistry meterRegistry) {
+        this.index = index;
+        this.todoRepository = todoRepository;
+        this.todoJdbcRepository = todoJdbcRepository;
+        this.fallback = fallback;
+        Gauge.builder("todos.search.index.tokens", index, TodoInvertedIndex::tokenCount)
+                .description("Tokens distintos en el indice invertido")
+                .register(meterRegistry);
+        Gauge.builder("todos.search.index.postings", index, TodoInvertedIndex::postingCount)
+                .description("Entradas (token, id) en el indice invertido")
+                .register(meterRegistry);
+        Gauge.builder("todos.search.index.documents", index, TodoInvertedIndex::documentCount)
+                .description("Todos indexados")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("todos.search.index.rebuild")
+                .description("Tiempo de reconstruccion del indice invertido")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        index.beginRebuild();
+        try {
+            todoJdbcRepository.forEach(todo -> index.putFromScan(todo.id(), todo.title(), todo.description()));
+        } finally {
+            index.endRebuild();
+        }
+        long elapsed = System.nanoTime() - start;
+        rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        ready = true;
+        log.info("Indice invertido reconstruido: {} todos, {} tokens en {} ms",
+                index.documentCount(), index.tokenCount(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    // Antes que la invalidacion de CachingTodoSearchEngine, para que una busqueda que vuelva a llenar
+    // la cache ya vea el indice actualizado
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.type() == TodoChangedEvent.Type.DELETED) {
+            index.remove(event.id());
+        } else {
+            index.put(event.id(), event.todo().getTitle(), event.todo().getDescription());
+        }
+    }
+
+    // Un cambio de estado no toca titulo ni descripcion; solo las altas y bajas afectan al indice
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosChanged(TodosBulkChangedEvent event) {
+        if (event.type() == TodoChangedEvent.Type.DELETED) {
+            for (long id : event.ids()) {
+                index.remove(id);
+            }
+        } else if (event.type() == TodoChangedEvent.Type.CREATED) {
+            for (TodoEntity todo : event.todos()) {
+                index.put(todo.getId(), todo.getTitle(), todo.getDescription());
+            }
+        }
+    }
+
+    // Todas las palabras de la consulta en el titulo o la descripcion; mientras se reconstruye el
+    // indice responde el respaldo, por eso tambien cuenta su criterio
+    @Override
+    public boolean matches(String query, String title, String description) {
+        String[] tokens = TodoInvertedIndex.tokenize(query);
+        if (tokens.length > 0) {
+            Set<String> words = new HashSet<>(List.of(TodoInvertedIndex.tokenize(title)));
+            words.addAll(List.of(TodoInvertedIndex.tokenize(description)));
+            if (words.containsAll(List.of(tokens))) {
+                return true;
+            }
+        }
+        return fallback.matches(query, title, description);
+    }
+
+    @Override
+    @Timed(value = "todos.search", description = "Busquedas por titulo en el motor configurado")
+    public List<TodoResponse> search(String query, int limit, Set<TodoField> fields) {
+        if (!ready) {
+            return fallback.search(query, limit, fields);
+        }
+        long[] ids = index.search(query, limit);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> boxed = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            boxed.add(id);
+        }
+        List<TodoResponse> todos = new ArrayList<>(todoRepository.findResponsesByIdIn(boxed));
+        todos.sort(Comparator.comparing(TodoResponse::id));
+        // Son a lo mucho "limit" filas leidas por llave primaria; los campos se recortan aqui
+        if (!fields.containsAll(TodoField.ALL)) {
+            todos.replaceAll(todo -> todo.only(fields));
+        }
+        return todos;
+    }
+}
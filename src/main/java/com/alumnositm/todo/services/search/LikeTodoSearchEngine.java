@@ -0,0 +1,44 @@
+package com.alumnositm.todo.services.search;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.helpers.LikePatterns;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.repositorys.TodoRowMapper;
+
+import io.micrometer.core.annotation.Timed;
+
+// Busqueda portable (H2 y pruebas): LIKE parametrizado, primero los titulos que empiezan con el texto
+public class LikeTodoSearchEngine implements TodoSearchEngine {
+
+    // Va despues de "select <columnas>"
+    private static final String FROM = """
+             from todos
+            where lower(title) like ? escape '\\'
+            order by case when lower(title) like ? escape '\\' then 0 else 1 end, id
+            limit ?
+            """;
+    private static final String SQL = "select " + TodoField.columns(TodoField.ALL) + FROM;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TodoRowMapper rowMapper = new TodoRowMapper();
+
+    public LikeTodoSearchEngine(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Timed(value = "todos.search", description = "Busquedas por titulo en el motor configurado")
+    public List<TodoResponse> search(String query, int limit, Set<TodoField> fields) {
+        String normalized = query.toLowerCase(Locale.ROOT);
+        boolean all = fields.containsAll(TodoField.ALL);
+        return jdbcTemplate.query(all ? SQL : "select " + TodoField.columns(fields) + FROM,
+                all ? rowMapper : new TodoRowMapper(fields),
+                LikePatterns.contains(normalized), LikePatterns.startsWith(normalized), limit);
+    }
+}
@@ -0,0 +1,228 @@
+package com.alumnositm.todo.services.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+// Indice invertido en memoria: cada token de titulo y descripcion apunta a la lista ordenada de ids
+// que lo contienen. Las listas son long[] sin boxing y cada documento guarda los ids de sus tokens
+// (int[]) para poder quitarlo al actualizar o borrar sin volver a leerlo de la base.
+public class TodoInvertedIndex {
+
+    private final Object2IntOpenHashMap<String> tokenIds = new Object2IntOpenHashMap<>();
+    private final List<LongArrayList> postings = new ArrayList<>();
+    private final Long2ObjectOpenHashMap<int[]> documents = new Long2ObjectOpenHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Ids modificados por eventos mientras corre la reconstruccion; el recorrido no los pisa
+    private LongOpenHashSet touchedDuringRebuild;
+
+    private volatile long postingCount;
+    private volatile int documentCount;
+
+    public TodoInvertedIndex() {
+        tokenIds.defaultReturnValue(-1);
+    }
+
+    public void put(long id, String title, String description) {
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            putLocked(id, title, description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            touchedDuringRebuild = new LongOpenHashSet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Agrega una fila leida por el recorrido de reconstruccion, salvo que un evento ya la haya cambiado
+    public void putFromScan(long id, String title, String description) {
+        lock.writeLock().lock();
+        try {
+            if (touchedDuringRebuild == null || !touchedDuringRebuild.contains(id)) {
+                putLocked(id, title, description);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void endRebuild() {
+        lock.writeLock().lock();
+        try {
+            touchedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids (ascendentes) de los documentos que contienen todos los tokens de la consulta
+    public long[] search(String query, int limit) {
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0 || limit <= 0) {
+            return LongArrays.EMPTY_ARRAY;
+        }
+        lock.readLock().lock();
+        try {
+            LongArrayList[] lists = new LongArrayList[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                int tokenId = tokenIds.getInt(tokens[i]);
+                if (tokenId < 0 || postings.get(tokenId).isEmpty()) {
+                    return LongArrays.EMPTY_ARRAY;
+                }
+                lists[i] = postings.get(tokenId);
+            }
+            // Se recorre la lista mas corta y se busca cada id en las demas
+            Arrays.sort(lists, Comparator.comparingInt(LongArrayList::size));
+            LongArrayList result = new LongArrayList(Math.min(limit, lists[0].size()));
+            for (int i = 0; i < lists[0].size() && result.size() < limit; i++) {
+                long id = lists[0].getLong(i);
+                if (containsInAll(lists, id)) {
+                    result.add(id);
+                }
+            }
+            return result.toLongArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tokenCount() {
+        return tokenIds.size();
+    }
+
+    public long postingCount() {
+        return postingCount;
+    }
+
+    public int documentCount() {
+        return documentCount;
+    }
+
+    // Minusculas, sin acentos y separado por cualquier caracter que no sea letra o digito
+    static String[] tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return new String[0];
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens.stream().distinct().toArray(String[]::new);
+    }
+
+    private void putLocked(long id, String title, String description) {
+        removeLocked(id);
+        IntLinkedOpenHashSet ids = new IntLinkedOpenHashSet();
+        for (String token : tokenize(title)) {
+            ids.add(tokenId(token));
+        }
+        for (String token : tokenize(description)) {
+            ids.add(tokenId(token));
+        }
+        int[] documentTokens = ids.toIntArray();
+        for (int tokenId : documentTokens) {
+            addSorted(postings.get(tokenId), id);
+        }
+        documents.put(id, documentTokens);
+        postingCount += documentTokens.length;
+        documentCount = documents.size();
+    }
+
+    private void removeLocked(long id) {
+        int[] previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (int tokenId : previous) {
+            LongArrayList list = postings.get(tokenId);
+            int index = LongArrays.binarySearch(list.elements(), 0, list.size(), id);
+            if (index >= 0) {
+                list.removeLong(index);
+            }
+        }
+        postingCount -= previous.length;
+        documentCount = documents.size();
+    }
+
+    private int tokenId(String token) {
+        int tokenId = tokenIds.getInt(token);
+        if (tokenId < 0) {
+            tokenId = postings.size();
+            tokenIds.put(token, tokenId);
+            postings.add(new LongArrayList(1));
+        }
+        return tokenId;
+    }
+
+    private void markTouched(long id) {
+        if (touchedDuringRebuild != null) {
+            touchedDuringRebuild.add(id);
+        }
+    }
+
+    private static void addSorted(LongArrayList list, long id) {
+        // Los ids nuevos casi siempre son mayores que el ultimo, asi que normalmente es un append
+        int size = list.size();
+        if (size == 0 || list.getLong(size - 1) < id) {
+            list.add(id);
+            return;
+        }
+        int index = LongArrays.binarySearch(list.elements(), 0, size, id);
+        if (index < 0) {
+            list.add(-(index + 1), id);
+        }
+    }
+
+    private static boolean containsInAll(LongArrayList[] lists, long id) {
+        for (int i = 1; i < lists.length; i++) {
+            if (LongArrays.binarySearch(lists[i].elements(), 0, lists[i].size(), id) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,27 @@
+package com.alumnositm.todo.services.search;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.helpers.TodoField;
+
+// Estrategia de busqueda por titulo; la implementacion depende de la base de datos en uso
+public interface TodoSearchEngine {
+
+    // Regresa a lo mucho "limit" todos cuyo titulo contiene "query", ordenados por relevancia
+    default List<TodoResponse> search(String query, int limit) {
+        return search(query, limit, TodoField.ALL);
+    }
+
+    // Igual que la anterior pero solo con las propiedades indicadas (?fields=)
+    List<TodoResponse> search(String query, int limit, Set<TodoField> fields);
+
+    // true si un todo con ese titulo y descripcion puede salir al buscar "query" (ya en minusculas).
+    // Lo usa CachingTodoSearchEngine para invalidar solo las busquedas afectadas por un cambio; puede
+    // dar true de mas, nunca de menos. Por defecto: el titulo contiene el texto, como LIKE e ILIKE
+    default boolean matches(String query, String title, String description) {
+        return title != null && title.toLowerCase(Locale.ROOT).contains(query);
+    }
+}
@@ -0,0 +1,77 @@
+package com.alumnositm.todo.services.search;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.helpers.LikePatterns;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.repositorys.TodoRowMapper;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+// Busqueda en PostgreSQL con pg_trgm: el indice GIN sobre title resuelve ILIKE '%q%' sin recorrer
+// toda la tabla y similarity() ordena los resultados por parecido con el texto buscado
+@Slf4j
+public class TrigramTodoSearchEngine implements TodoSearchEngine {
+
+    // Va despues de "select <columnas>"
+    private static final String FROM = """
+             from todos
+            where title ilike ? escape '\\'
+            order by similarity(title, ?) desc, id
+            limit ?
+            """;
+    private static final String SQL = "select " + TodoField.columns(TodoField.ALL) + FROM;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TodoSearchEngine fallback;
+    private final TodoRowMapper rowMapper = new TodoRowMapper();
+    private volatile boolean trigramAvailable;
+
+    public TrigramTodoSearchEngine(JdbcTemplate jdbcTemplate, TodoSearchEngine fallback) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fallback = fallback;
+    }
+
+    // Se ejecuta cuando Hibernate ya creo la tabla todos, con Tomcat ya atendiendo: el indice se crea
+    // con concurrently para no bloquear las escrituras mientras se construye (JdbcTemplate corre en
+    // autocommit, fuera de transaccion, como lo exige concurrently). Mientras tanto se busca con LIKE
+    @EventListener(ApplicationReadyEvent.class)
+    public void createTrigramIndex() {
+        try {
+            jdbcTemplate.execute("create extension if not exists pg_trgm");
+            // Un create concurrently interrumpido deja el indice invalido y "if not exists" ya no lo
+            // reconstruiria
+            Boolean valid = jdbcTemplate.query("""
+                    select i.indisvalid from pg_index i join pg_class c on c.oid = i.indexrelid
+                     where c.relname = 'idx_title_trgm'
+                    """, rs -> rs.next() ? rs.getBoolean(1) : null);
+            if (Boolean.FALSE.equals(valid)) {
+                jdbcTemplate.execute("drop index concurrently if exists idx_title_trgm");
+            }
+            jdbcTemplate.execute(
+                    "create index concurrently if not exists idx_title_trgm on todos using gin (title gin_trgm_ops)");
+            trigramAvailable = true;
+        } catch (RuntimeException e) {
+            // Sin permisos para crear la extension se sigue buscando con LIKE parametrizado
+            log.warn("No se pudo habilitar pg_trgm, la busqueda usara LIKE: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    @Timed(value = "todos.search", description = "Busquedas por titulo en el motor configurado")
+    public List<TodoResponse> search(String query, int limit, Set<TodoField> fields) {
+        if (!trigramAvailable) {
+            return fallback.search(query, limit, fields);
+        }
+        boolean all = fields.containsAll(TodoField.ALL);
+        return jdbcTemplate.query(all ? SQL : "select " + TodoField.columns(fields) + FROM,
+                all ? rowMapper : new TodoRowMapper(fields), LikePatterns.contains(query), query, limit);
+    }
+}
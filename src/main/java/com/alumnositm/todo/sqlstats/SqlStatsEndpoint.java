@@ -0,0 +1,32 @@
+package com.alumnositm.todo.sqlstats;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+// GET /actuator/sqlstats: sentencias ordenadas por tiempo total; ?limit=N para ver solo las primeras.
+// DELETE /actuator/sqlstats reinicia los contadores (por ejemplo antes de una prueba de carga).
+// Como todo el actuator, solo responde en management.server.port y no en el puerto de la API
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private final StatementStats stats;
+
+    public SqlStatsEndpoint(StatementStats stats) {
+        this.stats = stats;
+    }
+
+    @ReadOperation
+    public List<StatementStatsSnapshot> statements(@Nullable Integer limit) {
+        List<StatementStatsSnapshot> snapshot = stats.snapshot();
+        return limit == null || limit >= snapshot.size() ? snapshot : snapshot.subList(0, Math.max(limit, 0));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        stats.reset();
+    }
+}
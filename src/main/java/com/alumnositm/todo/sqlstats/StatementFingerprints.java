@@ -0,0 +1,29 @@
+package com.alumnositm.todo.sqlstats;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Normaliza una sentencia SQL para agrupar las que solo cambian en valores: quita comentarios,
+// reemplaza literales por ? y colapsa listas "in (?, ?, ...)" de cualquier tamaño. El resultado
+// no contiene valores, asi que se puede registrar en logs y en el endpoint sin exponer datos.
+public final class StatementFingerprints {
+
+    private static final Pattern BLOCK_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern LINE_COMMENT = Pattern.compile("--[^\\n]*");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private StatementFingerprints() {
+    }
+
+    public static String of(String sql) {
+        String normalized = BLOCK_COMMENT.matcher(sql).replaceAll(" ");
+        normalized = LINE_COMMENT.matcher(normalized).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+        return IN_LIST.matcher(normalized).replaceAll("in (...)");
+    }
+}
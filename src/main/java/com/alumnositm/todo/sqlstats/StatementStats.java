@@ -0,0 +1,116 @@
+package com.alumnositm.todo.sqlstats;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Acumula por huella de sentencia: ejecuciones, tiempo total, maximo, p99 y filas. El numero de
+// huellas esta acotado; las que no caben se suman en OTHER para no crecer sin limite si alguien
+// arma SQL con valores concatenados que la normalizacion no alcanza a agrupar.
+@Slf4j
+public class StatementStats {
+
+    static final String OTHER = "<otras sentencias>";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final long slowThresholdNanos;
+    private final int maxStatements;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // El SQL de una sentencia preparada se repite; la normalizacion con regex solo se hace una vez
+    private final Cache<String, String> fingerprints;
+
+    public StatementStats(Duration slowThreshold, int maxStatements) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxStatements = maxStatements;
+        this.fingerprints = Caffeine.newBuilder().maximumSize(maxStatements * 4L).build();
+    }
+
+    // Huella de la sentencia; el proxy la calcula una vez al preparar y la guarda
+    String fingerprint(String sql) {
+        return fingerprints.get(sql, StatementFingerprints::of);
+    }
+
+    void recordExecution(String fingerprint, long elapsedNanos, long rows) {
+        entryFor(fingerprint).record(elapsedNanos, rows);
+        if (elapsedNanos >= slowThresholdNanos) {
+            // Solo la huella: los valores de los parametros nunca se registran
+            log.warn("Sentencia lenta ({} ms{}): {} [parametros omitidos]",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows >= 0 ? ", " + rows + " filas" : "",
+                    fingerprint);
+        }
+    }
+
+    void recordRows(String fingerprint, long rows) {
+        entryFor(fingerprint).rows.add(rows);
+    }
+
+    // La entrada se busca en cada registro y no se guarda en el proxy: despues de reset() una
+    // sentencia preparada antes sigue contando en el mapa nuevo en lugar de en una entrada huerfana
+    private Entry entryFor(String fingerprint) {
+        Entry entry = entries.get(fingerprint);
+        if (entry != null) {
+            return entry;
+        }
+        if (entries.size() >= maxStatements) {
+            return entries.computeIfAbsent(OTHER, Entry::new);
+        }
+        return entries.computeIfAbsent(fingerprint, Entry::new);
+    }
+
+    // Ordenadas por tiempo total, las que mas pesan primero
+    public List<StatementStatsSnapshot> snapshot() {
+        List<StatementStatsSnapshot> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            result.add(entry.snapshot());
+        }
+        result.sort(Comparator.comparingDouble(StatementStatsSnapshot::totalMs).reversed());
+        return result;
+    }
+
+    public void reset() {
+        entries.clear();
+    }
+
+    static final class Entry {
+        final String fingerprint;
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        final LongAdder rows = new LongAdder();
+        final Histogram micros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 2);
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        void record(long elapsedNanos, long affectedRows) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            micros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+            if (affectedRows > 0) {
+                rows.add(affectedRows);
+            }
+        }
+
+        StatementStatsSnapshot snapshot() {
+            long calls = count.sum();
+            double total = totalNanos.sum() / 1_000_000.0;
+            return new StatementStatsSnapshot(fingerprint, calls, total, calls == 0 ? 0 : total / calls,
+                    maxNanos.get() / 1_000_000.0, micros.getValueAtPercentile(99) / 1000.0, rows.sum());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.alumnositm.todo.sqlstats;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Envuelve el DataSource real (Hikari) para medir cada sentencia que pasa por JDBC, venga de
+// Hibernate o de JdbcTemplate. Es un DelegatingDataSource para que unwrap(HikariDataSource.class)
+// siga funcionando (metricas hikaricp.*, health). Los proxies solo miden la ejecucion; las filas
+// de un SELECT se cuentan al recorrer el ResultSet y se suman cuando se agota o se cierra
+public class StatementStatsDataSource extends DelegatingDataSource {
+
+    private final StatementStats stats;
+
+    public StatementStatsDataSource(DataSource target, StatementStats stats) {
+        super(target);
+        this.stats = stats;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxyConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxyConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection proxyConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementStatsDataSource.invoke(target, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return proxyStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall":
+                    return proxyStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+                case "createStatement":
+                    return proxyStatement(Statement.class, (Statement) result, null);
+                default:
+                    return result;
+            }
+        }
+
+        private Object proxyStatement(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+                    new StatementHandler(statement, sql == null ? null : stats.fingerprint(sql)));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        // Preparada: fija desde prepareStatement. Statement simple: la del ultimo execute/addBatch
+        private String fingerprint;
+
+        StatementHandler(Statement target, String fingerprint) {
+            this.target = target;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if (name.equals("addBatch") && args != null && args.length == 1) {
+                    fingerprint = stats.fingerprint((String) args[0]);
+                }
+                Object result = StatementStatsDataSource.invoke(target, method, args);
+                return name.equals("getResultSet") && result != null && fingerprint != null
+                        ? proxyResultSet((ResultSet) result, fingerprint) : result;
+            }
+            if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                fingerprint = stats.fingerprint(sql);
+            }
+            long start = System.nanoTime();
+            Object result = StatementStatsDataSource.invoke(target, method, args);
+            long elapsed = System.nanoTime() - start;
+            if (fingerprint != null) {
+                stats.recordExecution(fingerprint, elapsed, affectedRows(result));
+                if (result instanceof ResultSet resultSet) {
+                    return proxyResultSet(resultSet, fingerprint);
+                }
+            }
+            return result;
+        }
+
+        // -1 cuando no se conoce en la ejecucion (SELECT): esas filas llegan desde el ResultSet
+        private long affectedRows(Object result) {
+            if (result instanceof Integer rows) {
+                return rows;
+            }
+            if (result instanceof Long rows) {
+                return rows;
+            }
+            long total = 0;
+            if (result instanceof int[] batch) {
+                for (int rows : batch) {
+                    total += Math.max(rows, 0);
+                }
+                return total;
+            }
+            if (result instanceof long[] batch) {
+                for (long rows : batch) {
+                    total += Math.max(rows, 0);
+                }
+                return total;
+            }
+            return -1;
+        }
+
+        private ResultSet proxyResultSet(ResultSet resultSet, String owner) {
+            return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class },
+                    new ResultSetHandler(resultSet, owner));
+        }
+    }
+
+    private final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final String fingerprint;
+        private long rows;
+        private boolean reported;
+
+        ResultSetHandler(ResultSet target, String fingerprint) {
+            this.target = target;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementStatsDataSource.invoke(target, method, args);
+            String name = method.getName();
+            if (name.equals("next")) {
+                if ((Boolean) result) {
+                    rows++;
+                } else {
+                    report();
+                }
+            } else if (name.equals("close")) {
+                report();
+            }
+            return result;
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                stats.recordRows(fingerprint, rows);
+            }
+        }
+    }
+}
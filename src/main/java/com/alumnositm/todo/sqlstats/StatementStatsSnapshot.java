@@ -0,0 +1,7 @@
+package com.alumnositm.todo.sqlstats;
+
+// Estadisticas de una huella de sentencia; tiempos en milisegundos. rows son las filas leidas
+// (SELECT) o modificadas (INSERT/UPDATE/DELETE) sumando todas las ejecuciones
+public record StatementStatsSnapshot(String statement, long count, double totalMs, double meanMs,
+        double maxMs, double p99Ms, long rows) {
+}
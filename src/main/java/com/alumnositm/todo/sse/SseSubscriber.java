@@ -0,0 +1,129 @@
+package com.alumnositm.todo.sse;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Un cliente conectado. offer solo encola (nunca escribe al socket); la escritura la hace drain en
+// el executor, una sola tarea a la vez por cliente. La cola es ligada y sin arreglo reservado, asi
+// un suscriptor inactivo solo cuesta el SseEmitter y unos cuantos objetos.
+// emitter.send bloquea mientras el socket no acepta datos (hasta que Tomcat corta la escritura);
+// sendingSince deja ver desde fuera cuanto lleva el envio en curso para dejar de encolarle eventos
+// al cliente que pasa el plazo
+final class SseSubscriber {
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Queue<Set<DataWithMediaType>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile boolean closed;
+    private volatile boolean abandoned;
+    // null = cierre normal (politica disconnect, apagado); si no, el cierre se reporta como error
+    private volatile Throwable abandonCause;
+    // System.nanoTime() al empezar el envio en curso; 0 si no hay envio
+    private volatile long sendingSince;
+
+    SseSubscriber(SseEmitter emitter, int capacity) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+    }
+
+    boolean isIdle() {
+        return size.get() == 0;
+    }
+
+    boolean isStalled(long now, long writeTimeoutNanos) {
+        long since = sendingSince;
+        return since != 0 && now - since > writeTimeoutNanos;
+    }
+
+    // false si la cola ya estaba llena; el broadcaster decide que hacer segun la politica
+    boolean offer(Set<DataWithMediaType> frame) {
+        if (closed) {
+            return true;
+        }
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            return false;
+        }
+        queue.add(frame);
+        return true;
+    }
+
+    // Descarta lo pendiente y deja solo este evento (por ejemplo "resync")
+    void replaceAll(Set<DataWithMediaType> frame) {
+        while (queue.poll() != null) {
+            size.decrementAndGet();
+        }
+        offer(frame);
+    }
+
+    void schedule(Executor executor, Runnable onFailure) {
+        if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(executor, onFailure));
+        }
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    // Deja de recibir eventos y cierra la conexion; si hay un envio en curso se cierra cuando ese
+    // envio termine, desde el hilo que escribe (complete y send son synchronized: llamar complete
+    // desde otro hilo esperaria al envio trabado)
+    void abandon(Throwable cause) {
+        abandonCause = cause;
+        abandoned = true;
+        close();
+        if (!draining.get()) {
+            complete();
+        }
+    }
+
+    private void complete() {
+        if (!completed.compareAndSet(false, true)) {
+            return;
+        }
+        Throwable cause = abandonCause;
+        if (cause == null) {
+            emitter.complete();
+        } else {
+            emitter.completeWithError(cause);
+        }
+    }
+
+    private void drain(Executor executor, Runnable onFailure) {
+        try {
+            Set<DataWithMediaType> frame;
+            while (!closed && (frame = queue.poll()) != null) {
+                size.decrementAndGet();
+                sendingSince = System.nanoTime();
+                emitter.send(frame);
+                sendingSince = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado o emitter ya completado
+            onFailure.run();
+            return;
+        } finally {
+            sendingSince = 0;
+            draining.set(false);
+        }
+        if (abandoned) {
+            complete();
+            return;
+        }
+        // Lo que llego entre el ultimo poll y soltar la bandera
+        schedule(executor, onFailure);
+    }
+}
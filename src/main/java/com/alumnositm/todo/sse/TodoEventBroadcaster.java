@@ -0,0 +1,218 @@
+package com.alumnositm.todo.sse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.alumnositm.todo.events.TodoChangedEvent;
+import com.alumnositm.todo.events.TodosBulkChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Reparte los cambios confirmados a los clientes SSE. Cada evento se serializa una vez y el mismo
+// frame se encola en todos los suscriptores; el hilo que confirma la transaccion solo encola.
+// Las conexiones inactivas no ocupan hilos (Tomcat async), solo los envios pendientes. Un cliente
+// cuyo envio lleva mas de writeTimeout deja de recibir eventos desde el siguiente evento o heartbeat
+// y su conexion se cierra con error; el envio trabado falla solo al vencer el plazo de escritura de
+// Tomcat (ver SseConfig)
+@Slf4j
+public class TodoEventBroadcaster implements SmartLifecycle {
+
+    // drop: se descartan los pendientes y el cliente recibe "resync" (debe releer la lista);
+    // disconnect: se cierra la conexion y EventSource reconecta solo
+    public enum OverflowPolicy {
+        DROP,
+        DISCONNECT
+    }
+
+    static final String TODO_EVENT = "todo";
+    static final String BULK_EVENT = "bulk";
+    static final String RESYNC_EVENT = "resync";
+
+    private final Set<SseSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Executor executor;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final int maxSubscribers;
+    private final Set<DataWithMediaType> heartbeat;
+    private final Set<DataWithMediaType> resync;
+    private final Set<DataWithMediaType> connected;
+    private final Counter overflows;
+    private final Counter stalled;
+    private volatile boolean running;
+
+    public TodoEventBroadcaster(Executor executor, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            int bufferSize, OverflowPolicy overflowPolicy, Duration timeout, Duration heartbeatInterval,
+            Duration writeTimeout, int maxSubscribers) {
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.timeoutMillis = timeout.toMillis();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeat = SseEmitter.event().comment("ping").build();
+        this.resync = SseEmitter.event().name(RESYNC_EVENT).data("{}").build();
+        // El primer frame confirma la conexion al cliente y le indica cuanto esperar para reconectar
+        this.connected = SseEmitter.event().comment("connected")
+                .reconnectTime(heartbeatInterval.toMillis()).build();
+        Gauge.builder("todos.sse.subscribers", subscribers, Set::size)
+                .description("Clientes SSE conectados")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("todos.sse.overflows")
+                .description("Clientes SSE cuya cola se lleno")
+                .tag("policy", overflowPolicy.name().toLowerCase())
+                .register(meterRegistry);
+        this.stalled = Counter.builder("todos.sse.stalled")
+                .description("Clientes SSE desconectados por pasar el plazo de escritura")
+                .register(meterRegistry);
+    }
+
+    // null si ya se alcanzo el maximo de suscriptores
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        return register(new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter register(SseEmitter emitter) {
+        SseSubscriber subscriber = new SseSubscriber(emitter, bufferSize);
+        Runnable remove = () -> remove(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        subscribers.add(subscriber);
+        subscriber.offer(connected);
+        subscriber.schedule(executor, remove);
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        broadcast(frame(TODO_EVENT, event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodosBulkChanged(TodosBulkChangedEvent event) {
+        broadcast(frame(BULK_EVENT, event));
+    }
+
+    // Solo a los clientes sin envios pendientes; a los demas ya les esta llegando algo
+    @Scheduled(fixedDelayString = "${todos.sse.heartbeat:15s}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (SseSubscriber subscriber : subscribers) {
+            if (abandonIfStalled(subscriber, now)) {
+                continue;
+            }
+            if (subscriber.isIdle()) {
+                subscriber.offer(heartbeat);
+                subscriber.schedule(executor, () -> remove(subscriber));
+            }
+        }
+    }
+
+    private void broadcast(Set<DataWithMediaType> frame) {
+        long now = System.nanoTime();
+        for (SseSubscriber subscriber : subscribers) {
+            if (abandonIfStalled(subscriber, now)) {
+                continue;
+            }
+            if (!subscriber.offer(frame)) {
+                overflows.increment();
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    disconnect(subscriber, null);
+                    continue;
+                }
+                subscriber.replaceAll(resync);
+            }
+            subscriber.schedule(executor, () -> remove(subscriber));
+        }
+    }
+
+    private boolean abandonIfStalled(SseSubscriber subscriber, long now) {
+        if (!subscriber.isStalled(now, writeTimeoutNanos)) {
+            return false;
+        }
+        IOException cause = new IOException("Envio SSE sin terminar despues de " + Duration.ofNanos(writeTimeoutNanos));
+        if (disconnect(subscriber, cause)) {
+            stalled.increment();
+        }
+        return true;
+    }
+
+    // Sin esperar al envio en curso (ver SseSubscriber.abandon)
+    private boolean disconnect(SseSubscriber subscriber, Throwable cause) {
+        if (!subscribers.remove(subscriber)) {
+            return false;
+        }
+        subscriber.abandon(cause);
+        return true;
+    }
+
+    private void remove(SseSubscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.close();
+        }
+    }
+
+    private Set<DataWithMediaType> frame(String name, Object event) {
+        try {
+            return SseEmitter.event().name(name).data(objectMapper.writeValueAsString(event)).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + name, e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // Al apagar se cierran las conexiones antes del apagado ordenado de Tomcat, que si no esperaria
+    // a que terminen (nunca lo hacen); los clientes reconectan a otro nodo
+    @Override
+    public void stop() {
+        running = false;
+        for (SseSubscriber subscriber : subscribers) {
+            try {
+                disconnect(subscriber, null);
+            } catch (RuntimeException e) {
+                log.debug("Error al cerrar un cliente SSE", e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Fase mayor que la de webServerGracefulShutdown: se detiene antes que el servidor
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+}
@@ -0,0 +1,164 @@
+package com.alumnositm.todo.stats;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.alumnositm.todo.dtos.response.TodoStatsResponse;
+import com.alumnositm.todo.events.TodoStatusCountsChangedEvent;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.repositorys.TodoJdbcRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// Numero de todos por estado en memoria, para GET /api/v1/todos/stats sin consultar la base.
+// TodoServicesImpl publica cuanto cambia cada estado con cada escritura (TodoStatusCountsChangedEvent)
+// y aqui se suma al terminar su transaccion si se confirmo, en un LongAdder por estado (sin
+// contencion entre escritores).
+// Cada reconcile-interval (y al arrancar) se comparan con un GROUP BY status sobre idx_status y se
+// corrige la diferencia que dejan las escrituras que no pasan por aqui (otras instancias, perfil
+// reactivo). La foto de la base y los contadores solo se comparan si ninguna escritura de esta
+// instancia estaba entre su evento y el fin de su transaccion durante la consulta; si no, su cambio
+// podria estar en uno y no en el otro. Con escrituras continuas se reintenta unas veces y si no se
+// salta la vuelta (todos.stats.reconcile.skipped). Lo corregido va a todos.stats.reconcile.drift
+@Slf4j
+@Component
+public class TodoStatusCounters {
+
+    private static final TodoStatus[] STATUSES = TodoStatus.values();
+    private static final int RECONCILE_ATTEMPTS = 5;
+    private static final long RECONCILE_RETRY_MILLIS = 20;
+
+    private final TodoJdbcRepository todoJdbcRepository;
+    private final LongAdder[] counts = new LongAdder[STATUSES.length];
+    private final Counter drift;
+    private final Counter skipped;
+    // Escrituras con evento publicado cuya transaccion no ha terminado, y un contador que se mueve con
+    // cada evento publicado o aplicado: si no cambio durante la consulta, la foto es consistente
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong activity = new AtomicLong();
+    private volatile Instant reconciledAt;
+
+    public TodoStatusCounters(TodoJdbcRepository todoJdbcRepository, MeterRegistry meterRegistry) {
+        this.todoJdbcRepository = todoJdbcRepository;
+        for (TodoStatus status : STATUSES) {
+            LongAdder count = new LongAdder();
+            counts[status.ordinal()] = count;
+            Gauge.builder("todos.count", count, LongAdder::sum)
+                    .description("Todos por estado segun los contadores en memoria")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+        this.drift = Counter.builder("todos.stats.reconcile.drift")
+                .description("Diferencia con la base de escrituras que no pasaron por los contadores")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("todos.stats.reconcile.skipped")
+                .description("Reconciliaciones saltadas por escrituras en curso durante la consulta")
+                .register(meterRegistry);
+    }
+
+    // Se recibe dentro de la transaccion de la escritura y se aplica al terminar, solo si se confirmo
+    @EventListener
+    public void onCountsChanged(TodoStatusCountsChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(event.deltas());
+            activity.incrementAndGet();
+            return;
+        }
+        pending.incrementAndGet();
+        activity.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    apply(event.deltas());
+                }
+                activity.incrementAndGet();
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    private void apply(long[] deltas) {
+        for (int i = 0; i < deltas.length; i++) {
+            if (deltas[i] != 0) {
+                counts[i].add(deltas[i]);
+            }
+        }
+    }
+
+    // Suma la diferencia en lugar de reemplazar el valor, asi no se pierden los cambios que se aplican
+    // despues de la comparacion. Regresa cuanto se corrigio en total (0 si se salto la vuelta)
+    @Scheduled(fixedDelayString = "${todos.stats.reconcile-interval:5m}")
+    public long reconcile() {
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            long before = activity.get();
+            if (pending.get() == 0) {
+                long[] actual = todoJdbcRepository.countByStatus();
+                long[] current = new long[counts.length];
+                for (int i = 0; i < current.length; i++) {
+                    current[i] = counts[i].sum();
+                }
+                if (activity.get() == before) {
+                    return correct(actual, current);
+                }
+            }
+            if (attempt < RECONCILE_ATTEMPTS && !pause()) {
+                break;
+            }
+        }
+        skipped.increment();
+        log.debug("Reconciliacion de contadores por estado saltada: escrituras en curso");
+        return 0;
+    }
+
+    private static boolean pause() {
+        try {
+            Thread.sleep(RECONCILE_RETRY_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private long correct(long[] actual, long[] current) {
+        long corrected = 0;
+        for (int i = 0; i < actual.length; i++) {
+            long difference = actual[i] - current[i];
+            if (difference != 0) {
+                counts[i].add(difference);
+                corrected += Math.abs(difference);
+            }
+        }
+        // La primera vez parte de cero, no es un desajuste
+        if (reconciledAt != null && corrected > 0) {
+            drift.increment(corrected);
+            log.info("Contadores por estado corregidos en {} contra la base", corrected);
+        }
+        reconciledAt = Instant.now();
+        return corrected;
+    }
+
+    public TodoStatsResponse snapshot() {
+        Map<TodoStatus, Long> byStatus = new EnumMap<>(TodoStatus.class);
+        long total = 0;
+        for (TodoStatus status : STATUSES) {
+            long count = counts[status.ordinal()].sum();
+            byStatus.put(status, count);
+            total += count;
+        }
+        return new TodoStatsResponse(byStatus, total, reconciledAt);
+    }
+}
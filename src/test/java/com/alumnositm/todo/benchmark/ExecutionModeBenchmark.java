@@ -0,0 +1,165 @@
+package com.alumnositm.todo.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.alumnositm.todo.TodoApplication;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.repositorys.TodoJdbcRepository;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+/**
+ * Compara throughput y latencia p99 entre hilos de plataforma, hilos virtuales y el stack reactivo.
+ *
+ * Levanta la aplicacion una vez por modo con el perfil h2 (h2,virtual y h2,reactive en las demas
+ * corridas), carga datos directo en la tabla y manda una mezcla 50/50 de GET /api/v1/todos/{id} y GET /api/v1/todos
+ * con varios clientes concurrentes. Clientes y servidor comparten JVM y CPU, asi que los numeros
+ * sirven para comparar los dos modos en la misma maquina, no como capacidad absoluta. Se corre con:
+ *
+ * mvn -Ploadtest test-compile exec:java -Dbench.concurrency=400 -Dbench.seconds=20
+ *
+ * Para 10k conexiones concurrentes: -Dbench.concurrency=10000 (requiere ulimit -n mayor a 20000,
+ * porque cliente y servidor abren un descriptor por conexion en el mismo proceso).
+ */
+public class ExecutionModeBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 400);
+    private static final int WARMUP_SECONDS = Integer.getInteger("bench.warmup", 5);
+    private static final int MEASURE_SECONDS = Integer.getInteger("bench.seconds", 20);
+    private static final int SEED_TODOS = Integer.getInteger("bench.todos", 10000);
+    // platform: Tomcat + hilos de plataforma; virtual: Tomcat + hilos virtuales; reactive: WebFlux + R2DBC
+    private static final String MODES = System.getProperty("bench.modes", "platform,virtual,reactive");
+    // Perfiles extra para cada corrida, p. ej. -Dbench.profiles= para usar PostgreSQL en vez de h2
+    private static final String BASE_PROFILES = System.getProperty("bench.profiles", "h2");
+
+    public static void main(String[] args) throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (String mode : MODES.split(",")) {
+            results.add(run(mode.trim()));
+        }
+
+        System.out.printf("%nconcurrencia=%d, medicion=%ds%n", CONCURRENCY, MEASURE_SECONDS);
+        System.out.printf("%-10s %12s %10s %10s %10s %8s%n", "modo", "req/s", "p50 ms", "p99 ms", "max ms", "errores");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.1f %10.2f %10.2f %10.2f %8d%n", result.mode, result.throughput(),
+                    result.percentile(0.50), result.percentile(0.99), result.percentile(1.0), result.errors);
+        }
+    }
+
+    private static Result run(String mode) throws Exception {
+        String profiles = switch (mode) {
+            case "platform" -> BASE_PROFILES;
+            case "virtual", "reactive" -> BASE_PROFILES.isEmpty() ? mode : BASE_PROFILES + "," + mode;
+            default -> throw new IllegalArgumentException("Modo desconocido: " + mode);
+        };
+        try (ConfigurableApplicationContext context = SpringApplication.run(TodoApplication.class,
+                "--spring.profiles.active=" + profiles,
+                "--server.port=0",
+                // Sin esto Tomcat deja de aceptar conexiones arriba de 8192 y se mediria la cola del SO
+                "--server.tomcat.max-connections=" + (CONCURRENCY + 100),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=warn");
+                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/todos";
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clients)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            long[] ids = seed(context.getBean(TodoJdbcRepository.class));
+
+            // Calentamiento: mismas requests pero sin medir, para JIT, caches y el pool de conexiones
+            drive(http, baseUrl, ids, clients, WARMUP_SECONDS);
+            Result result = drive(http, baseUrl, ids, clients, MEASURE_SECONDS);
+            result.mode = mode;
+            return result;
+        }
+    }
+
+    // Los datos se cargan directo con JDBC: el alta masiva por HTTP no existe en el perfil reactive
+    private static long[] seed(TodoJdbcRepository todoJdbcRepository) {
+        List<TodoEntity> todos = new ArrayList<>(SEED_TODOS);
+        for (int i = 0; i < SEED_TODOS; i++) {
+            todos.add(new TodoEntity(null, "Tarea de carga", "Creada por el benchmark", TodoStatus.PENDING));
+        }
+        todoJdbcRepository.insertAll(todos);
+        // Con PostgreSQL los ids no empiezan en 1, se toman de lo insertado
+        return todos.stream().mapToLong(TodoEntity::getId).toArray();
+    }
+
+    private static Result drive(HttpClient http, String baseUrl, long[] ids, ExecutorService clients, int seconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<LongArrayList>> futures = new ArrayList<>(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            futures.add(clients.submit(() -> {
+                LongArrayList latencies = new LongArrayList();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    String uri = random.nextBoolean()
+                            ? baseUrl + "/" + ids[random.nextInt(ids.length)]
+                            : baseUrl + "?limit=20&after=" + (ids[random.nextInt(ids.length)] - 1);
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(HttpRequest.newBuilder(URI.create(uri)).GET().build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) {
+                            latencies.add(System.nanoTime() - start);
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        // Conexiones rechazadas o reseteadas: fallan rapido y no deben bajar los percentiles
+                        errors.incrementAndGet();
+                    }
+                }
+                return latencies;
+            }));
+        }
+
+        LongArrayList all = new LongArrayList();
+        for (Future<LongArrayList> future : futures) {
+            all.addAll(future.get());
+        }
+        all.sort(null);
+        Result result = new Result();
+        result.latencies = all.toLongArray();
+        result.errors = errors.get();
+        result.seconds = seconds;
+        return result;
+    }
+
+    private static class Result {
+        String mode;
+        long[] latencies;
+        long errors;
+        int seconds;
+
+        double throughput() {
+            return (double) latencies.length / seconds;
+        }
+
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
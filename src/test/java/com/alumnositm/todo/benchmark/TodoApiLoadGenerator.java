@@ -0,0 +1,293 @@
+package com.alumnositm.todo.benchmark;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.alumnositm.todo.TodoApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Generador de carga sobre la API HTTP real (/api/v1/todos) con latencias por endpoint en HdrHistogram.
+ *
+ * Por defecto levanta la aplicacion en el mismo proceso con el perfil h2. Con -Dload.profiles= usa
+ * application.properties tal cual (PostgreSQL local) y con -Dload.url=http://host:8080 maneja una
+ * instancia que ya esta corriendo. Opciones:
+ *
+ * -Dload.mix=list:30,get:40,create:10,update:10,delete:5,search:5  pesos de cada operacion
+ * -Dload.clients=64 -Dload.seconds=30 -Dload.warmup=10 -Dload.todos=10000
+ * -Dload.rate=2000  requests/s totales; con tasa fija la latencia se mide desde el momento en que
+ *                   la request debio salir (corrige la omision coordinada). 0 = cada cliente manda
+ *                   la siguiente en cuanto recibe la respuesta
+ * -Dload.hgrm=target/load  escribe la distribucion completa de cada endpoint (.hgrm)
+ *
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.mainClass=com.alumnositm.todo.benchmark.TodoApiLoadGenerator
+ */
+public class TodoApiLoadGenerator {
+
+    enum Operation { LIST, GET, CREATE, UPDATE, DELETE, SEARCH }
+
+    private static final String[] WORDS = {"Comprar", "Revisar", "Enviar", "Pagar", "Llamar", "Preparar", "Estudiar", "Limpiar"};
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED", "CANCELLED"};
+    // Hasta 60 s en microsegundos con 3 digitos significativos
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private static final String URL = System.getProperty("load.url", "");
+    private static final String PROFILES = System.getProperty("load.profiles", "h2");
+    private static final String MIX = System.getProperty("load.mix", "list:30,get:40,create:10,update:10,delete:5,search:5");
+    private static final int CLIENTS = Integer.getInteger("load.clients", 64);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup", 10);
+    private static final int MEASURE_SECONDS = Integer.getInteger("load.seconds", 30);
+    private static final int SEED_TODOS = Integer.getInteger("load.todos", 10000);
+    private static final int RATE = Integer.getInteger("load.rate", 0);
+    private static final String HGRM_DIR = System.getProperty("load.hgrm", "");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Operation[] weighted;
+    private long[] ids;
+
+    TodoApiLoadGenerator(HttpClient http, String baseUrl, Operation[] weighted) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.weighted = weighted;
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = null;
+        String base = URL;
+        if (base.isEmpty()) {
+            context = SpringApplication.run(TodoApplication.class,
+                    "--spring.profiles.active=" + PROFILES,
+                    "--server.port=0",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=warn");
+            base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clients)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            TodoApiLoadGenerator generator = new TodoApiLoadGenerator(http, base + "/api/v1/todos", parseMix(MIX));
+            generator.seed();
+            generator.drive(clients, WARMUP_SECONDS);
+            Map<Operation, Stats> stats = generator.drive(clients, MEASURE_SECONDS);
+            report(stats, System.out);
+            if (!HGRM_DIR.isEmpty()) {
+                writeDistributions(stats, Path.of(HGRM_DIR));
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    // "list:30,get:40" -> arreglo con cada operacion repetida segun su peso, para sortear con un indice
+    static Operation[] parseMix(String mix) {
+        List<Operation> weighted = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = Operation.valueOf(parts[0].trim().toUpperCase());
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("load.mix no tiene operaciones: " + mix);
+        }
+        return weighted.toArray(Operation[]::new);
+    }
+
+    private void seed() throws Exception {
+        StringBuilder payload = new StringBuilder();
+        for (int i = 0; i < SEED_TODOS; i++) {
+            payload.append("{\"title\":\"").append(WORDS[i % WORDS.length])
+                    .append(" tarea\",\"description\":\"Creada por el generador de carga\"}\n");
+        }
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/bulk"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(payload.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("No se pudieron cargar los datos: " + response.statusCode() + " " + response.body());
+        }
+        JsonNode items = MAPPER.readTree(response.body()).path("items");
+        ids = new long[items.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = items.get(i).path("id").asLong();
+        }
+    }
+
+    private Map<Operation, Stats> drive(ExecutorService clients, int seconds) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        // Con tasa fija cada cliente manda una request cada intervalNanos
+        long intervalNanos = RATE > 0 ? TimeUnit.SECONDS.toNanos(1) * CLIENTS / RATE : 0;
+        List<Future<Map<Operation, Stats>>> futures = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            long offset = intervalNanos * i / CLIENTS;
+            futures.add(clients.submit(() -> runClient(start + offset, deadline, intervalNanos)));
+        }
+
+        Map<Operation, Stats> total = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, Stats>> future : futures) {
+            future.get().forEach((operation, stats) -> total.computeIfAbsent(operation, op -> new Stats()).add(stats));
+        }
+        total.values().forEach(stats -> stats.seconds = seconds);
+        return total;
+    }
+
+    private Map<Operation, Stats> runClient(long firstSend, long deadline, long intervalNanos) {
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        // Cada cliente borra solo lo que creo, asi get/update siempre encuentran los ids sembrados
+        ArrayDeque<Long> created = new ArrayDeque<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long intended = firstSend;
+        while (true) {
+            if (intervalNanos > 0) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            long start = intervalNanos > 0 ? intended : System.nanoTime();
+            if (start >= deadline) {
+                return stats;
+            }
+            Operation operation = weighted[random.nextInt(weighted.length)];
+            if (operation == Operation.DELETE && created.isEmpty()) {
+                operation = Operation.CREATE;
+            }
+            boolean ok;
+            try {
+                ok = execute(operation, random, created);
+            } catch (Exception e) {
+                ok = false;
+            }
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            stats.computeIfAbsent(operation, op -> new Stats()).record(latencyMicros, ok);
+            intended += intervalNanos;
+        }
+    }
+
+    private boolean execute(Operation operation, ThreadLocalRandom random, ArrayDeque<Long> created) throws Exception {
+        long id = ids[random.nextInt(ids.length)];
+        String word = WORDS[random.nextInt(WORDS.length)];
+        return switch (operation) {
+            case LIST -> send(get(baseUrl + "?limit=20&after=" + (id - 1))) == 200;
+            case GET -> send(get(baseUrl + "/" + id)) == 200;
+            case SEARCH -> send(get(baseUrl + "/search?limit=20&q=" + word.toLowerCase())) == 200;
+            case UPDATE -> send(json(baseUrl + "/update/" + id, "PUT", "{\"title\":\"" + word
+                    + " tarea\",\"description\":\"Actualizada por el generador\",\"status\":\""
+                    + STATUSES[random.nextInt(STATUSES.length)] + "\"}")) == 200;
+            case CREATE -> {
+                HttpResponse<String> response = http.send(json(baseUrl, "POST", "{\"title\":\"" + word
+                        + " tarea\",\"description\":\"Creada por el generador de carga\"}"), HttpResponse.BodyHandlers.ofString());
+                // 202: ingesta write-behind, el id aun no existe y el alta no se puede borrar despues
+                if (response.statusCode() == 202) {
+                    yield true;
+                }
+                if (response.statusCode() != 201) {
+                    yield false;
+                }
+                created.push(MAPPER.readTree(response.body()).path("id").asLong());
+                yield true;
+            }
+            case DELETE -> send(HttpRequest.newBuilder(URI.create(baseUrl + "/delete/" + created.pop())).DELETE().build()) == 204;
+        };
+    }
+
+    private int send(HttpRequest request) throws Exception {
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+
+    private static HttpRequest json(String uri, String method, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    static void report(Map<Operation, Stats> stats, PrintStream out) {
+        out.printf("%nclientes=%d, medicion=%ds, tasa=%s%n", CLIENTS, MEASURE_SECONDS, RATE > 0 ? RATE + " req/s" : "maxima");
+        out.printf("%-8s %9s %10s %9s %9s %9s %9s %9s %8s%n",
+                "endpoint", "ok", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errores");
+        Stats all = new Stats();
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            printRow(out, entry.getKey().name().toLowerCase(), entry.getValue());
+            all.add(entry.getValue());
+            all.seconds = entry.getValue().seconds;
+        }
+        printRow(out, "total", all);
+    }
+
+    private static void printRow(PrintStream out, String name, Stats stats) {
+        Histogram h = stats.histogram;
+        out.printf("%-8s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8d%n", name, h.getTotalCount(),
+                (double) h.getTotalCount() / Math.max(stats.seconds, 1),
+                h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(90) / 1000.0,
+                h.getValueAtPercentile(99) / 1000.0, h.getValueAtPercentile(99.9) / 1000.0,
+                h.getMaxValue() / 1000.0, stats.errors);
+    }
+
+    private static void writeDistributions(Map<Operation, Stats> stats, Path dir) throws Exception {
+        Files.createDirectories(dir);
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(entry.getKey().name().toLowerCase() + ".hgrm")))) {
+                // Valores en microsegundos; el factor 1000 deja el archivo en milisegundos
+                entry.getValue().histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    // Latencias de las respuestas correctas y conteo de errores de un endpoint
+    static class Stats {
+        final Histogram histogram = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long errors;
+        int seconds;
+
+        void record(long latencyMicros, boolean ok) {
+            if (ok) {
+                histogram.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+            } else {
+                errors++;
+            }
+        }
+
+        void add(Stats other) {
+            histogram.add(other.histogram);
+            errors += other.errors;
+        }
+    }
+}
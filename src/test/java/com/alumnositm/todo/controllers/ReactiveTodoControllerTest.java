@@ -0,0 +1,123 @@
+package com.alumnositm.todo.controllers;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.services.ReactiveTodoServices;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTodoControllerTest {
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private ReactiveTodoServices todoServices;
+
+    @InjectMocks
+    private ReactiveTodoController todoController;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToController(todoController).build();
+    }
+
+    private TodoResponse sampleTodo(Long id) {
+        return TodoResponse.from(new TodoEntity(id, "New Todo", "Description of the new todo", TodoStatus.PENDING));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/todos -> 200 y pagina")
+    void allTodos_ok() {
+        given(todoServices.allTodos(null, 50, null))
+                .willReturn(Mono.just(new TodoPageResponse(List.of(sampleTodo(1L), sampleTodo(2L)), 2L)));
+
+        webTestClient.get().uri("/api/v1/todos")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2)
+                .jsonPath("$.nextCursor").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/todos/{id} no encontrado -> 404")
+    void findById_notFound() {
+        given(todoServices.findById(999)).willReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/v1/todos/{id}", 999)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/todos -> 201 Created y Location")
+    void createTodo_created() {
+        given(todoServices.createTodo(any(CreateTodoRequest.class))).willReturn(Mono.just(sampleTodo(1L)));
+
+        webTestClient.post().uri("/api/v1/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreateTodoRequest("New Todo", "Description of the new todo"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().value("Location", endsWith("/api/v1/todos/1"))
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/todos/update/{id} sin status -> 400 por @ValidTodoStatus")
+    void update_invalidStatus() {
+        webTestClient.put().uri("/api/v1/todos/update/{id}", 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UpdateTodoRequest("Updated", "Desc updated", null))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        then(todoServices).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("DELETE /api/v1/todos/delete/{id} no encontrado -> 404")
+    void delete_notFound() {
+        given(todoServices.deleteTodoById(999)).willReturn(Mono.just(false));
+
+        webTestClient.delete().uri("/api/v1/todos/delete/{id}", 999)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/todos/search con Accept NDJSON -> un objeto por linea")
+    void search_ndjson() {
+        given(todoServices.findTodosByTitle("todo", 20)).willReturn(Flux.just(sampleTodo(1L), sampleTodo(2L)));
+
+        webTestClient.get().uri("/api/v1/todos/search?q=todo")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(TodoResponse.class).hasSize(2);
+    }
+}
@@ -0,0 +1,159 @@
+package com.alumnositm.todo.controllers;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.TodoFilter;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.services.TodoServices;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class TodoBulkControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TodoServices todoServices;
+
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        TodoBulkController controller = new TodoBulkController(todoServices, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), 2);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        nextId = 1;
+    }
+
+    private void givenServiceAssignsIds() {
+        given(todoServices.createTodos(anyList())).willAnswer(invocation -> {
+            List<CreateTodoRequest> requests = invocation.getArgument(0);
+            List<TodoEntity> saved = new ArrayList<>();
+            for (CreateTodoRequest r : requests) {
+                saved.add(new TodoEntity(nextId++, r.getTitle(), r.getDescription(), TodoStatus.PENDING));
+            }
+            return saved;
+        });
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/todos/bulk con arreglo JSON -> inserta en lotes y reporta cada elemento")
+    void bulkCreate_jsonArray() throws Exception {
+        givenServiceAssignsIds();
+
+        mockMvc.perform(post("/api/v1/todos/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [{"title":"Uno","description":"Primero"},
+                         {"title":"","description":"Sin titulo"},
+                         {"title":"Dos","description":"Segundo"},
+                         {"title":"Tres","description":"Tercero"}]
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(3))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items", hasSize(4)))
+                .andExpect(jsonPath("$.items[0].status").value(201))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[1].status").value(400))
+                .andExpect(jsonPath("$.items[1].errors", hasItem("El titulo no puede estar vacio")))
+                .andExpect(jsonPath("$.items[2].id").value(2))
+                .andExpect(jsonPath("$.items[3].id").value(3));
+
+        // lote de 2 (Uno, Dos) y lote final de 1 (Tres)
+        verify(todoServices, times(2)).createTodos(anyList());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/todos/bulk con NDJSON -> 200")
+    void bulkCreate_ndjson() throws Exception {
+        givenServiceAssignsIds();
+
+        mockMvc.perform(post("/api/v1/todos/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"title\":\"Uno\",\"description\":\"Primero\"}\n{\"title\":\"Dos\",\"description\":\"Segundo\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.items[1].id").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/todos/bulk con JSON invalido -> 400")
+    void bulkCreate_malformed() throws Exception {
+        mockMvc.perform(post("/api/v1/todos/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"Uno\""))
+                .andExpect(status().isBadRequest());
+
+        verify(todoServices, never()).createTodos(anyList());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/todos/bulk/status con filtro -> 200 y cantidad afectada")
+    void bulkStatus_byFilter() throws Exception {
+        given(todoServices.updateStatus(null, new TodoFilter(TodoStatus.IN_PROGRESS, "Proyecto"), TodoStatus.CANCELLED))
+                .willReturn(1500L);
+
+        mockMvc.perform(post("/api/v1/todos/bulk/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\":{\"status\":\"IN_PROGRESS\",\"titlePrefix\":\"Proyecto\"},\"status\":\"CANCELLED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1500));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/todos/bulk/status con ids y filtro a la vez -> 400")
+    void bulkStatus_idsAndFilter() throws Exception {
+        mockMvc.perform(post("/api/v1/todos/bulk/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1],\"filter\":{\"status\":\"PENDING\"},\"status\":\"CANCELLED\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(todoServices);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/todos/bulk/delete con filtro vacio -> 400")
+    void bulkDelete_emptyFilter() throws Exception {
+        mockMvc.perform(post("/api/v1/todos/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\":{}}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(todoServices);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/todos/bulk/delete con ids -> 200")
+    void bulkDelete_byIds() throws Exception {
+        given(todoServices.deleteTodos(List.of(1L, 2L, 3L), null)).willReturn(2L);
+
+        mockMvc.perform(post("/api/v1/todos/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1,2,3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+    }
+}
@@ -2,13 +2,22 @@ package com.alumnositm.todo.controllers;
 
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.Matchers.endsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,24 +25,38 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.alumnositm.todo.dtos.request.CreateTodoRequest;
 import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
-import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.dtos.response.TodoStatsResponse;
+import com.alumnositm.todo.helpers.TodoField;
 import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.ingest.WriteBehindIngestor;
+import com.alumnositm.todo.protobuf.Todo;
+import com.alumnositm.todo.protobuf.TodoList;
+import com.alumnositm.todo.protobuf.TodoProtobufHttpMessageConverter;
 import com.alumnositm.todo.services.TodoServices;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 
 @ExtendWith(MockitoExtension.class)
 class TodoControllerTest {
 
     private MockMvc mockMvc;
     
-    private ObjectMapper objectMapper;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
     @Mock
     private TodoServices todoServices;
@@ -45,29 +68,153 @@ class TodoControllerTest {
     void setUp() {
         // Inicializar MockMvc con el controlador y los mocks inyectados
         mockMvc = MockMvcBuilders.standaloneSetup(todoController).build();
-        // Inicializar ObjectMapper para serializar JSON
-        objectMapper = new ObjectMapper();
     }
 
-    private TodoEntity sampleTodo(Long id) {
-        TodoEntity t = new TodoEntity();
-        t.setId(id);
-        t.setTitle("New Todo");
-        t.setDescription("Description of the new todo");
-        t.setStatus(TodoStatus.PENDING);
-        return t;
+    private TodoResponse sampleTodo(Long id) {
+        return new TodoResponse(id, "New Todo", "Description of the new todo", TodoStatus.PENDING, 0L);
     }
 
     @Test
-    @DisplayName("GET /api/v1/todos -> 200 y lista")
+    @DisplayName("GET /api/v1/todos -> 200 y pagina")
     void allTodos_ok() throws Exception {
-        given(todoServices.allTodos()).willReturn(List.of(sampleTodo(1L), sampleTodo(2L)));
+        given(todoServices.allTodos(null, 50, null, TodoField.ALL))
+                .willReturn(new TodoPageResponse(List.of(sampleTodo(1L), sampleTodo(2L)), 2L));
 
         mockMvc.perform(get("/api/v1/todos"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].title").value("New Todo"));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("New Todo"))
+                .andExpect(jsonPath("$.nextCursor").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/todos?after=&limit=&status= -> pasa el cursor al servicio")
+    void allTodos_withCursor() throws Exception {
+        given(todoServices.allTodos(10L, 5, TodoStatus.IN_PROGRESS, TodoField.ALL))
+                .willReturn(new TodoPageResponse(List.of(), null));
+
+        mockMvc.perform(get("/api/v1/todos")
+                .param("after", "10")
+                .param("limit", "5")
+                .param("status", "IN_PROGRESS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/todos?fields=title&compact=true -> solo esas columnas, en formato columnar")
+    void allTodos_fieldsCompact() throws Exception {
+        Set<TodoField> fields = EnumSet.of(TodoField.ID, TodoField.TITLE);
+        given(todoServices.allTodos(null, 50, null, fields)).willReturn(new TodoPageResponse(List.of(
+                new TodoResponse(1L, "Uno", null, null, null), new TodoResponse(2L, "Dos", null, null, null)), 2L));
+
+        mockMvc.perform(get("/api/v1/todos").param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Uno"))
+                .andExpect(jsonPath("$.items[0].description").doesNotExist());
+        mockMvc.perform(get("/api/v1/todos").param("fields", "title").param("compact", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fields", contains("id", "title")))
+                .andExpect(jsonPath("$.columns.id", contains(1, 2)))
+                .andExpect(jsonPath("$.columns.title", contains("Uno", "Dos")))
+                .andExpect(jsonPath("$.columns.description").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/todos?fields= con un campo desconocido -> 400")
+    void allTodos_unknownField() throws Exception {
+        mockMvc.perform(get("/api/v1/todos").param("fields", "title,password"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(todoServices);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/todos con Accept: application/cbor -> misma pagina en CBOR")
+    void allTodos_cbor() throws Exception {
+        given(todoServices.allTodos(null, 50, null, TodoField.ALL))
+                .willReturn(new TodoPageResponse(List.of(sampleTodo(1L)), null));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/todos").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn();
+
+        TodoPageResponse page = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(),
+                TodoPageResponse.class);
+        assertEquals(List.of(sampleTodo(1L)), page.getItems());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/todos/search con Accept: application/x-protobuf -> TodoList")
+    void search_protobuf() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(todoController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(), new TodoProtobufHttpMessageConverter())
+                .build();
+        given(todoServices.changeVersion()).willReturn("1");
+        given(todoServices.findTodosByTitle("New", 20, TodoField.ALL)).willReturn(List.of(sampleTodo(1L)));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/todos/search").param("q", "New")
+                        .accept("application/x-protobuf"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-protobuf"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+
+        TodoList todos = TodoList.parseFrom(result.getResponse().getContentAsByteArray());
+        assertEquals(1L, todos.getItems(0).getId());
+        assertEquals("New Todo", todos.getItems(0).getTitle());
+        assertEquals(Todo.Status.PENDING, todos.getItems(0).getStatus());
+        mockMvc.perform(get("/api/v1/todos/search").param("q", "New"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/todos/export con Accept: application/x-protobuf -> mensajes con su longitud")
+    void exportTodos_protobuf() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<TodoResponse> consumer = invocation.getArgument(0);
+            consumer.accept(sampleTodo(1L));
+            consumer.accept(sampleTodo(2L));
+            return null;
+        }).given(todoServices).exportTodos(any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/todos/export").accept("application/x-protobuf"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-protobuf;delimited=true"));
+
+        InputStream in = new ByteArrayInputStream(result.getResponse().getContentAsByteArray());
+        assertEquals(1L, Todo.parseDelimitedFrom(in).getId());
+        assertEquals(2L, Todo.parseDelimitedFrom(in).getId());
+        assertNull(Todo.parseDelimitedFrom(in));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/todos/export con Accept: application/cbor-seq -> un valor CBOR por todo")
+    void exportTodos_cborSequence() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<TodoResponse> consumer = invocation.getArgument(0);
+            consumer.accept(sampleTodo(1L));
+            consumer.accept(sampleTodo(2L));
+            return null;
+        }).given(todoServices).exportTodos(any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/todos/export").accept("application/cbor-seq"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor-seq"));
+
+        List<TodoResponse> todos = new CBORMapper().readerFor(TodoResponse.class)
+                .<TodoResponse>readValues(result.getResponse().getContentAsByteArray()).readAll();
+        assertEquals(List.of(sampleTodo(1L), sampleTodo(2L)), todos);
     }
 
     @Test
@@ -77,10 +224,35 @@ class TodoControllerTest {
 
         mockMvc.perform(get("/api/v1/todos/{id}", 1))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.status").value("PENDING"));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/todos/{id} con If-None-Match de la version actual -> 304 sin cuerpo")
+    void findById_notModified() throws Exception {
+        TodoResponse todo = new TodoResponse(1L, "New Todo", "Description of the new todo", TodoStatus.PENDING, 3L);
+        given(todoServices.findById(1)).willReturn(todo);
+
+        mockMvc.perform(get("/api/v1/todos/{id}", 1).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/todos con If-None-Match del contador de la tabla -> 304 sin leer todos")
+    void allTodos_notModified() throws Exception {
+        given(todoServices.changeVersion()).willReturn("42");
+
+        mockMvc.perform(get("/api/v1/todos").header(HttpHeaders.IF_NONE_MATCH, "W/\"t42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+
+        verify(todoServices, never()).allTodos(any(), anyInt(), any(), any());
+    }
+
     @Test
     @DisplayName("GET /api/v1/todos/{id} no encontrado -> 404")
     void findById_notFound() throws Exception {
@@ -90,11 +262,27 @@ class TodoControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("GET /api/v1/todos/stats -> 200 con el conteo por estado, no se toma como {id}")
+    void stats_shouldReturnCounts() throws Exception {
+        given(todoServices.statusCounts()).willReturn(new TodoStatsResponse(
+                Map.of(TodoStatus.PENDING, 3L, TodoStatus.COMPLETED, 2L), 5L, Instant.parse("2026-01-01T00:00:00Z")));
+
+        mockMvc.perform(get("/api/v1/todos/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.PENDING").value(3))
+                .andExpect(jsonPath("$.counts.COMPLETED").value(2))
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.reconciledAt").exists());
+
+        verify(todoServices, never()).findById(anyInt());
+    }
+
     @Test
     @DisplayName("POST /api/v1/todos -> 201 Created y Location")
     void createTodo_created() throws Exception {
         CreateTodoRequest req = new CreateTodoRequest("New Todo", "Description of the new todo");
-        TodoEntity saved = sampleTodo(1L);
+        TodoResponse saved = sampleTodo(1L);
         given(todoServices.createTodo(any(CreateTodoRequest.class))).willReturn(saved);
 
         mockMvc.perform(post("/api/v1/todos")
@@ -106,16 +294,40 @@ class TodoControllerTest {
                 .andExpect(jsonPath("$.title").value("New Todo"));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/todos en modo write-behind -> 202 y Location al estado del alta")
+    void createTodo_writeBehind() throws Exception {
+        WriteBehindIngestor ingestor = mock(WriteBehindIngestor.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TodoController(todoServices, objectMapper, ingestor)).build();
+        CreateTodoRequest req = new CreateTodoRequest("New Todo", "Description of the new todo");
+        given(ingestor.submit("abc-1", req)).willReturn(true);
+        given(ingestor.submit("lleno", req)).willReturn(false);
+
+        mockMvc.perform(post("/api/v1/todos").header("Idempotency-Key", "abc-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith("/api/v1/todos/ingest/abc-1")))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+        mockMvc.perform(post("/api/v1/todos").header("Idempotency-Key", "lleno")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+        mockMvc.perform(post("/api/v1/todos").header("Idempotency-Key", "con espacio")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(todoServices);
+    }
+
     @Test
     @DisplayName("PUT /api/v1/todos/update/{id} encontrado -> 200")
     void update_found() throws Exception {
         UpdateTodoRequest req = new UpdateTodoRequest("Updated", "Desc updated", TodoStatus.COMPLETED);
-        TodoEntity updated = sampleTodo(1L);
-        updated.setTitle("Updated");
-        updated.setDescription("Desc updated");
-        updated.setStatus(TodoStatus.COMPLETED);
+        TodoResponse updated = new TodoResponse(1L, "Updated", "Desc updated", TodoStatus.COMPLETED, 1L);
 
-        given(todoServices.updateTodoById(eq(1), any(UpdateTodoRequest.class))).willReturn(updated);
+        given(todoServices.updateTodoById(eq(1), any(UpdateTodoRequest.class), isNull())).willReturn(updated);
 
         mockMvc.perform(put("/api/v1/todos/update/{id}", 1)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -130,7 +342,7 @@ class TodoControllerTest {
     @DisplayName("PUT /api/v1/todos/update/{id} no encontrado -> 404")
     void update_notFound() throws Exception {
         UpdateTodoRequest req = new UpdateTodoRequest("Updated", "Desc updated", TodoStatus.IN_PROGRESS);
-        given(todoServices.updateTodoById(eq(999), any(UpdateTodoRequest.class))).willReturn(null);
+        given(todoServices.updateTodoById(eq(999), any(UpdateTodoRequest.class), isNull())).willReturn(null);
 
         mockMvc.perform(put("/api/v1/todos/update/{id}", 999)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -138,14 +350,74 @@ class TodoControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("PUT /api/v1/todos/update/{id} con If-Match -> actualiza esa version y regresa el nuevo ETag")
+    void update_ifMatch() throws Exception {
+        UpdateTodoRequest req = new UpdateTodoRequest("Updated", "Desc updated", TodoStatus.COMPLETED);
+        TodoResponse updated = new TodoResponse(1L, "Updated", "Desc updated", TodoStatus.COMPLETED, 3L);
+        given(todoServices.updateTodoById(eq(1), any(UpdateTodoRequest.class), eq(2L))).willReturn(updated);
+
+        mockMvc.perform(put("/api/v1/todos/update/{id}", 1)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/todos/update/{id} con If-Match vencido o invalido -> 412")
+    void update_ifMatchConflict() throws Exception {
+        UpdateTodoRequest req = new UpdateTodoRequest("Updated", "Desc updated", TodoStatus.COMPLETED);
+        given(todoServices.updateTodoById(eq(1), any(UpdateTodoRequest.class), eq(2L)))
+                .willThrow(new OptimisticLockingFailureException("cambio"));
+
+        mockMvc.perform(put("/api/v1/todos/update/{id}", 1)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/v1/todos/update/{id}", 1)
+                .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @DisplayName("GET /api/v1/todos/search?q= -> 200 y lista")
     void search_ok() throws Exception {
-        given(todoServices.findTodosByTitle("New")).willReturn(List.of(sampleTodo(1L)));
+        given(todoServices.findTodosByTitle("New", 20, TodoField.ALL)).willReturn(List.of(sampleTodo(1L)));
 
         mockMvc.perform(get("/api/v1/todos/search").param("q", "New"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].title").value("New Todo"));
     }
+
+    @Test
+    @DisplayName("GET /api/v1/todos/export -> 200 y un JSON por linea")
+    void export_ndjson() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<TodoResponse> consumer = invocation.getArgument(0);
+            consumer.accept(sampleTodo(1L));
+            consumer.accept(sampleTodo(2L));
+            return null;
+        }).given(todoServices).exportTodos(any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/todos/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals('{', lines[1].charAt(0));
+        assertEquals(1L, objectMapper.readValue(lines[0], TodoResponse.class).id());
+        assertEquals(2L, objectMapper.readValue(lines[1], TodoResponse.class).id());
+    }
 }
@@ -0,0 +1,129 @@
+package com.alumnositm.todo.idempotency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+@DisplayName("Tests del filtro de Idempotency-Key")
+class IdempotencyFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyFilter filter;
+    private AtomicInteger executions;
+    private int nextStatus;
+
+    // Simula el controlador: lee el cuerpo y crea un todo con un id nuevo
+    private final FilterChain chain = (request, response) -> {
+        request.getInputStream().readAllBytes();
+        int id = executions.incrementAndGet();
+        HttpServletResponse http = (HttpServletResponse) response;
+        http.setStatus(nextStatus);
+        http.setHeader("Location", "http://localhost/api/v1/todos/" + id);
+        http.setContentType("application/json");
+        http.getOutputStream().write(("{\"id\":" + id + "}").getBytes(StandardCharsets.UTF_8));
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new IdempotencyFilter(new InMemoryIdempotencyStore(1 << 20, Duration.ofHours(1)),
+                Duration.ofSeconds(1), meterRegistry);
+        executions = new AtomicInteger();
+        nextStatus = 201;
+    }
+
+    private MockHttpServletResponse post(String key, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/todos");
+        request.setRequestURI("/api/v1/todos");
+        if (key != null) {
+            request.addHeader("Idempotency-Key", key);
+        }
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("todos.idempotency.requests", "result", result).count();
+    }
+
+    @Test
+    @DisplayName("Un reintento con la misma llave debe repetir la respuesta sin ejecutar de nuevo")
+    void retry_shouldReplayStoredResponse() throws Exception {
+        // Given
+        MockHttpServletResponse first = post("k1", "{\"title\":\"Uno\"}");
+
+        // When
+        MockHttpServletResponse retry = post("k1", "{\"title\":\"Uno\"}");
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(201, first.getStatus());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getHeader("Location"), retry.getHeader("Location"));
+        assertEquals("{\"id\":1}", retry.getContentAsString());
+        assertEquals("true", retry.getHeader("Idempotent-Replayed"));
+        assertNull(first.getHeader("Idempotent-Replayed"));
+        assertEquals(1.0, count("executed"));
+        assertEquals(1.0, count("replayed"));
+    }
+
+    @Test
+    @DisplayName("La misma llave con otro cuerpo debe responder 422")
+    void sameKeyDifferentBody_shouldReturnUnprocessableEntity() throws Exception {
+        // Given
+        post("k1", "{\"title\":\"Uno\"}");
+
+        // When
+        MockHttpServletResponse response = post("k1", "{\"title\":\"Otro\"}");
+
+        // Then
+        assertEquals(422, response.getStatus());
+        assertEquals(1, executions.get());
+        assertEquals(1.0, count("mismatched"));
+    }
+
+    @Test
+    @DisplayName("Una respuesta que no es 2xx no se debe guardar: el reintento se ejecuta")
+    void errorResponse_shouldNotBeStored() throws Exception {
+        // Given
+        nextStatus = 400;
+        post("k1", "{\"title\":\"\"}");
+        nextStatus = 201;
+
+        // When
+        MockHttpServletResponse retry = post("k1", "{\"title\":\"\"}");
+
+        // Then
+        assertEquals(201, retry.getStatus());
+        assertEquals(2, executions.get());
+        assertNull(retry.getHeader("Idempotent-Replayed"));
+    }
+
+    @Test
+    @DisplayName("Una llave invalida debe responder 400 y sin llave no se debe guardar nada")
+    void invalidOrMissingKey_shouldNotBeDeduplicated() throws Exception {
+        // When
+        MockHttpServletResponse invalid = post("x".repeat(101), "{}");
+        post(null, "{}");
+        post(null, "{}");
+
+        // Then
+        assertEquals(400, invalid.getStatus());
+        assertEquals(2, executions.get());
+        assertEquals(0.0, count("executed"));
+    }
+}
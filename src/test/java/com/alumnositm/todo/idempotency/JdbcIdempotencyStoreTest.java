@@ -0,0 +1,101 @@
+package com.alumnositm.todo.idempotency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+@DisplayName("Tests de JdbcIdempotencyStore sobre H2")
+class JdbcIdempotencyStoreTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table todo_idempotency (idem_key varchar(200) primary key, "
+                + "status integer not null, headers varchar(1000) not null, body varbinary(65536) not null, "
+                + "fingerprint varbinary(32) not null, created_at timestamp(6) with time zone not null)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private JdbcIdempotencyStore newStore(int maxBodyBytes) {
+        return new JdbcIdempotencyStore(jdbcTemplate, new InMemoryIdempotencyStore(1 << 20, TTL), TTL, maxBodyBytes);
+    }
+
+    private static IdempotentResponse created(String body) {
+        return new IdempotentResponse(201,
+                new String[] { "Content-Type", "application/json", "Location", "http://localhost/api/v1/todos/1" },
+                body.getBytes(StandardCharsets.UTF_8), new byte[32]);
+    }
+
+    @Test
+    @DisplayName("find() debe encontrar la respuesta guardada por otra instancia (o antes de un reinicio)")
+    void find_shouldReadResponseSavedByAnotherInstance() {
+        // Given
+        newStore(1024).save("/api/v1/todos k1", created("{\"id\":1}"));
+
+        // When
+        IdempotentResponse found = newStore(1024).find("/api/v1/todos k1");
+
+        // Then
+        assertNotNull(found);
+        assertEquals(201, found.status());
+        assertArrayEquals(created("{\"id\":1}").headers(), found.headers());
+        assertEquals("{\"id\":1}", new String(found.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("save() no debe escribir en la tabla las respuestas mas grandes que el limite")
+    void save_shouldKeepLargeResponsesOnlyInMemory() {
+        // Given
+        JdbcIdempotencyStore store = newStore(4);
+
+        // When
+        store.save("/api/v1/todos k1", created("{\"id\":1}"));
+
+        // Then
+        assertNotNull(store.find("/api/v1/todos k1"));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from todo_idempotency", Integer.class));
+    }
+
+    @Test
+    @DisplayName("purge() debe borrar las respuestas vencidas y find() no debe regresarlas")
+    void purge_shouldDeleteExpiredResponses() {
+        // Given
+        newStore(1024).save("/api/v1/todos nueva", created("{}"));
+        jdbcTemplate.update("insert into todo_idempotency values (?, 201, '', X'', X'00', ?)", "/api/v1/todos vieja",
+                Timestamp.from(Instant.now().minus(Duration.ofHours(2))));
+        JdbcIdempotencyStore store = newStore(1024);
+        assertNull(store.find("/api/v1/todos vieja"));
+
+        // When
+        int deleted = store.purge();
+
+        // Then
+        assertEquals(1, deleted);
+        assertNotNull(store.find("/api/v1/todos nueva"));
+    }
+}
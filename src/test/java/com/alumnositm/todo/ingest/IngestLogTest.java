@@ -0,0 +1,110 @@
+package com.alumnositm.todo.ingest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("Tests del log de ingesta")
+class IngestLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Al reabrir debe recuperar los registros despues del checkpoint, en orden")
+    void recover_shouldReturnRecordsAfterCheckpoint() throws IOException {
+        // Given
+        Path file = dir.resolve("ingest.log");
+        try (IngestLog log = new IngestLog(file, 4096, true)) {
+            log.recover();
+            long first = log.append(record("k1").encode());
+            log.append(record("k2").encode());
+            log.append(record("k3").encode());
+            log.sync(first);
+            log.checkpoint(first);
+        }
+
+        // When
+        List<IngestLog.Entry> recovered;
+        try (IngestLog log = new IngestLog(file, 4096, true)) {
+            recovered = log.recover();
+        }
+
+        // Then
+        assertEquals(List.of(record("k2"), record("k3")), recovered.stream().map(IngestLog.Entry::record).toList());
+    }
+
+    @Test
+    @DisplayName("Con todo aplicado debe volver al inicio sin recuperar registros viejos")
+    void checkpoint_all_shouldStartNewEpoch() throws IOException {
+        // Given
+        Path file = dir.resolve("ingest.log");
+        try (IngestLog log = new IngestLog(file, 4096, true)) {
+            log.recover();
+            log.append(record("viejo-1").encode());
+            long end = log.append(record("viejo-2").encode());
+            log.checkpoint(end);
+            assertEquals(0, log.used());
+            // Mas corto que los anteriores: detras quedan los bytes de la epoca anterior
+            assertTrue(log.append(record("n").encode()) > end);
+        }
+
+        // When
+        List<IngestLog.Entry> recovered;
+        try (IngestLog log = new IngestLog(file, 4096, true)) {
+            recovered = log.recover();
+        }
+
+        // Then
+        assertEquals(List.of(record("n")), recovered.stream().map(IngestLog.Entry::record).toList());
+    }
+
+    @Test
+    @DisplayName("Un registro corrupto debe terminar la recuperacion")
+    void recover_shouldStopAtCorruptRecord() throws IOException {
+        // Given
+        Path file = dir.resolve("ingest.log");
+        try (IngestLog log = new IngestLog(file, 4096, true)) {
+            log.recover();
+            log.append(record("k1").encode());
+            log.append(record("k2").encode());
+        }
+        int secondRecord = IngestLog.HEADER + IngestLog.RECORD_HEADER + record("k1").encode().length;
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(secondRecord + IngestLog.RECORD_HEADER + 5);
+            raf.write('X');
+        }
+
+        // When
+        List<IngestLog.Entry> recovered;
+        try (IngestLog log = new IngestLog(file, 4096, true)) {
+            recovered = log.recover();
+        }
+
+        // Then
+        assertEquals(List.of(record("k1")), recovered.stream().map(IngestLog.Entry::record).toList());
+    }
+
+    @Test
+    @DisplayName("append() debe regresar -1 cuando el registro ya no cabe")
+    void append_shouldRejectWhenFull() throws IOException {
+        try (IngestLog log = new IngestLog(dir.resolve("ingest.log"), 128, false)) {
+            log.recover();
+            byte[] payload = record("k1").encode();
+
+            assertTrue(log.append(payload) > 0);
+            assertEquals(-1, log.append(payload));
+        }
+    }
+
+    private static IngestRecord record(String key) {
+        return new IngestRecord(key, "Comprar leche", "En la tienda de la esquina");
+    }
+}
@@ -0,0 +1,175 @@
+package com.alumnositm.todo.ingest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.repositorys.TodoIngestKeyRepository;
+import com.alumnositm.todo.services.TodoServices;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de la ingesta write-behind")
+class WriteBehindIngestorTest {
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private TodoServices todoServices;
+
+    @Mock
+    private TodoIngestKeyRepository keyRepository;
+
+    private IngestLog ingestLog;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ingestLog = new IngestLog(dir.resolve("ingest.log"), 1 << 16, false);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        ingestLog.close();
+    }
+
+    @Test
+    @DisplayName("flush() debe insertar lo aceptado en un lote y guardar las llaves")
+    void flush_shouldInsertAcceptedTodosWithTheirKeys() {
+        // Given
+        WriteBehindIngestor ingestor = ingestor(100, Duration.ZERO);
+        givenCreateTodosAssignsIds();
+        assertTrue(ingestor.submit("k1", new CreateTodoRequest("Uno", "Desc")));
+        assertTrue(ingestor.submit("k2", new CreateTodoRequest("Dos", "Desc")));
+        // La misma llave mientras sigue en la cola no se escribe otra vez
+        assertTrue(ingestor.submit("k1", new CreateTodoRequest("Uno", "Desc")));
+
+        // When
+        int inserted = ingestor.flush();
+
+        // Then
+        assertEquals(2, inserted);
+        assertEquals(0, ingestor.pending());
+        assertFalse(ingestor.isPending("k1"));
+        then(todoServices).should().createTodos(List.of(new CreateTodoRequest("Uno", "Desc"),
+                new CreateTodoRequest("Dos", "Desc")));
+        then(keyRepository).should().insertAll(eq(List.of("k1", "k2")), eq(new long[] {1L, 2L}), any());
+        assertEquals(0, ingestLog.used());
+    }
+
+    @Test
+    @DisplayName("Sin lugar en la cola submit() debe rechazar el alta")
+    void submit_shouldRejectWhenQueueIsFull() {
+        WriteBehindIngestor ingestor = ingestor(1, Duration.ZERO);
+
+        assertTrue(ingestor.submit("k1", new CreateTodoRequest("Uno", "Desc")));
+        assertFalse(ingestor.submit("k2", new CreateTodoRequest("Dos", "Desc")));
+        assertEquals(1, ingestor.pending());
+    }
+
+    @Test
+    @DisplayName("Si falla la base el lote debe quedarse en la cola")
+    void flush_shouldKeepBatchWhenApplyFails() {
+        // Given
+        WriteBehindIngestor ingestor = ingestor(100, Duration.ZERO);
+        ingestor.submit("k1", new CreateTodoRequest("Uno", "Desc"));
+        given(todoServices.createTodos(anyList())).willThrow(new IllegalStateException("base caida"));
+
+        // When
+        int inserted = ingestor.flush();
+
+        // Then
+        assertEquals(0, inserted);
+        assertTrue(ingestor.isPending("k1"));
+    }
+
+    @Test
+    @DisplayName("Al arrancar debe reaplicar el log saltando las llaves que ya estan en la base")
+    void recovery_shouldSkipAlreadyAppliedKeys() throws IOException {
+        // Given: k1 se confirmo en la base pero el proceso murio antes del checkpoint
+        ingestLog.recover();
+        ingestLog.append(new IngestRecord("k1", "Uno", "Desc").encode());
+        ingestLog.append(new IngestRecord("k2", "Dos", "Desc").encode());
+        ingestLog.close();
+        ingestLog = new IngestLog(dir.resolve("ingest.log"), 1 << 16, false);
+        given(keyRepository.findExisting(List.of("k1", "k2"))).willReturn(Set.of("k1"));
+        givenCreateTodosAssignsIds();
+
+        // When
+        WriteBehindIngestor ingestor = ingestor(100, Duration.ZERO);
+        int inserted = ingestor.flush();
+
+        // Then
+        assertEquals(1, inserted);
+        then(todoServices).should().createTodos(List.of(new CreateTodoRequest("Dos", "Desc")));
+        then(keyRepository).should().insertAll(eq(List.of("k2")), eq(new long[] {1L}), any());
+    }
+
+    @Test
+    @DisplayName("startFlushing() debe aplicar la cola en su propio hilo y close() detenerlo")
+    void startFlushing_shouldFlushOnDedicatedThread() throws InterruptedException {
+        // Given
+        WriteBehindIngestor ingestor = ingestor(100, Duration.ZERO);
+        List<String> threads = new ArrayList<>();
+        given(todoServices.createTodos(anyList())).willAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            List<CreateTodoRequest> requests = invocation.getArgument(0);
+            List<TodoEntity> created = new ArrayList<>();
+            for (CreateTodoRequest request : requests) {
+                created.add(new TodoEntity((long) created.size() + 1, request.getTitle(), request.getDescription(),
+                        TodoStatus.PENDING));
+            }
+            return created;
+        });
+        ingestor.submit("k1", new CreateTodoRequest("Uno", "Desc"));
+
+        // When
+        ingestor.startFlushing(Duration.ofMillis(10));
+        for (int i = 0; i < 200 && ingestor.pending() > 0; i++) {
+            Thread.sleep(10);
+        }
+        ingestor.close();
+
+        // Then
+        assertEquals(0, ingestor.pending());
+        assertEquals(List.of("ingest-flush"), threads);
+    }
+
+    private WriteBehindIngestor ingestor(int maxPending, Duration offerTimeout) {
+        return new WriteBehindIngestor(ingestLog, todoServices, keyRepository, TransactionOperations.withoutTransaction(),
+                1000, maxPending, offerTimeout, Duration.ofDays(1), new SimpleMeterRegistry());
+    }
+
+    private void givenCreateTodosAssignsIds() {
+        given(todoServices.createTodos(anyList())).willAnswer(invocation -> {
+            List<CreateTodoRequest> requests = invocation.getArgument(0);
+            List<TodoEntity> created = new ArrayList<>();
+            for (CreateTodoRequest request : requests) {
+                created.add(new TodoEntity((long) created.size() + 1, request.getTitle(), request.getDescription(),
+                        TodoStatus.PENDING));
+            }
+            return created;
+        });
+    }
+}
@@ -0,0 +1,137 @@
+package com.alumnositm.todo.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.alumnositm.todo.dtos.response.TodoChangesResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.events.TodoChangedEvent;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.repositorys.TodoOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+@DisplayName("Tests del outbox y su relay sobre H2")
+class OutboxRelayTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TodoOutboxRepository outboxRepository;
+    private TodoOutbox todoOutbox;
+    private InMemoryOutboxSink sink;
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table todo_outbox (seq bigint generated by default as identity primary key, "
+                + "todo_id bigint not null, type varchar(10) not null, payload varchar(4000), "
+                + "created_at timestamp(6) with time zone not null, published_at timestamp(6) with time zone)");
+        outboxRepository = new TodoOutboxRepository(jdbcTemplate);
+        todoOutbox = new TodoOutbox(outboxRepository, objectMapper, Duration.ZERO);
+        sink = new InMemoryOutboxSink();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("El feed debe regresar los cambios despues de since en orden y con el JSON del todo")
+    void changesSince_shouldReturnOrderedChanges() throws Exception {
+        // Given
+        todoOutbox.recordCreated(List.of(new TodoEntity(1L, "Uno", "Desc", TodoStatus.PENDING),
+                new TodoEntity(2L, "Dos", "Desc", TodoStatus.PENDING)));
+        todoOutbox.recordStatusChanged(new long[] {1L}, TodoStatus.COMPLETED);
+        todoOutbox.recordDeleted(2L);
+
+        // When
+        TodoChangesResponse first = todoOutbox.changesSince(0, 2);
+        TodoChangesResponse rest = todoOutbox.changesSince(first.getNextSince(), 100);
+
+        // Then
+        assertEquals(List.of(1L, 2L), first.getChanges().stream().map(OutboxEvent::todoId).toList());
+        assertEquals(List.of(TodoChangedEvent.Type.UPDATED, TodoChangedEvent.Type.DELETED),
+                rest.getChanges().stream().map(OutboxEvent::type).toList());
+        assertNull(rest.getChanges().get(1).todo());
+        assertEquals(rest.getChanges().get(1).seq(), rest.getNextSince());
+        assertEquals("{\"id\":1,\"status\":\"COMPLETED\"}", rest.getChanges().get(0).todo());
+        String json = objectMapper.writeValueAsString(first.getChanges().get(0));
+        assertTrue(json.contains("\"todo\":{\"id\":1,\"title\":\"Uno\""), json);
+    }
+
+    @Test
+    @DisplayName("El relay debe publicar en lotes y no volver a publicar lo ya entregado")
+    void relay_shouldPublishInBatchesOnce() {
+        // Given
+        OutboxRelay relay = new OutboxRelay(outboxRepository, sink, 2, Duration.ofDays(7));
+        todoOutbox.recordDeleted(1L, 2L, 3L, 4L, 5L);
+
+        // When
+        int published = relay.relay();
+        int again = relay.relay();
+
+        // Then
+        assertEquals(5, published);
+        assertEquals(0, again);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), sink.events().stream().map(OutboxEvent::todoId).toList());
+    }
+
+    @Test
+    @DisplayName("Si el sink falla el lote queda pendiente para la siguiente vuelta")
+    void relay_shouldRetryWhenSinkFails() {
+        // Given
+        OutboxRelay failing = new OutboxRelay(outboxRepository, events -> {
+            throw new IllegalStateException("sink caido");
+        }, 10, Duration.ofDays(7));
+        todoOutbox.recordDeleted(7L);
+
+        // When
+        int published = failing.relay();
+        int retried = new OutboxRelay(outboxRepository, sink, 10, Duration.ofDays(7)).relay();
+
+        // Then
+        assertEquals(0, published);
+        assertEquals(1, retried);
+        assertEquals(7L, sink.events().get(0).todoId());
+    }
+
+    @Test
+    @DisplayName("currentVersion() debe cambiar al confirmar la escritura, sin esperar el feed-delay")
+    void currentVersion_shouldChangeOnCommit() {
+        // Given: con un feed-delay largo el seq nuevo todavia no cuenta
+        TodoOutbox delayed = new TodoOutbox(outboxRepository, objectMapper, Duration.ofHours(1));
+        String before = delayed.currentVersion();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            delayed.recordDeleted(1L);
+            String uncommitted = delayed.currentVersion();
+            TransactionSynchronizationUtils.triggerAfterCommit();
+
+            // Then
+            assertEquals(before, uncommitted);
+            assertNotEquals(before, delayed.currentVersion());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.alumnositm.todo.protobuf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.alumnositm.todo.dtos.response.TodoColumnsResponse;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.helpers.TodoStatus;
+
+@DisplayName("Tests del conversor Protobuf")
+class TodoProtobufHttpMessageConverterTest {
+
+    private final TodoProtobufHttpMessageConverter converter = new TodoProtobufHttpMessageConverter();
+
+    @Test
+    @DisplayName("Una pagina debe escribirse como TodoPage sin los campos en null")
+    void write_page_shouldOmitNullFields() throws IOException {
+        // Given
+        TodoPageResponse page = new TodoPageResponse(List.of(
+                new TodoResponse(1L, "Uno", "Desc", TodoStatus.IN_PROGRESS, 3L),
+                new TodoResponse(2L, "Dos", null, null, null)), null);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When
+        converter.write(page, TodoPageResponse.class, TodoProtobufHttpMessageConverter.PROTOBUF, output);
+
+        // Then
+        TodoPage message = TodoPage.parseFrom(output.getBodyAsBytes());
+        assertEquals(TodoProtobufHttpMessageConverter.PROTOBUF, output.getHeaders().getContentType());
+        assertEquals(2, message.getItemsCount());
+        assertEquals(Todo.Status.IN_PROGRESS, message.getItems(0).getStatus());
+        assertEquals(3L, message.getItems(0).getVersion());
+        assertEquals("Dos", message.getItems(1).getTitle());
+        assertFalse(message.getItems(1).hasDescription());
+        assertFalse(message.getItems(1).hasVersion());
+        assertFalse(message.hasNextCursor());
+    }
+
+    @Test
+    @DisplayName("Solo debe escribir todos, paginas y listas de todos")
+    void canWrite_shouldOnlyAcceptTodoTypes() {
+        var todoList = new ParameterizedTypeReference<List<TodoResponse>>() { }.getType();
+        var stringList = new ParameterizedTypeReference<List<String>>() { }.getType();
+
+        assertTrue(converter.canWrite(todoList, List.class, TodoProtobufHttpMessageConverter.PROTOBUF));
+        assertTrue(converter.canWrite(TodoResponse.class, TodoResponse.class, null));
+        assertFalse(converter.canWrite(stringList, List.class, TodoProtobufHttpMessageConverter.PROTOBUF));
+        assertFalse(converter.canWrite(TodoColumnsResponse.class, TodoColumnsResponse.class, null));
+        assertFalse(converter.canRead(TodoResponse.class, null, TodoProtobufHttpMessageConverter.PROTOBUF));
+    }
+}
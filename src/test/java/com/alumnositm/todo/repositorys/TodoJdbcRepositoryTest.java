@@ -0,0 +1,171 @@
+package com.alumnositm.todo.repositorys;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.alumnositm.todo.dtos.request.TodoFilter;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
+
+@DisplayName("Tests de TodoJdbcRepository sobre H2")
+class TodoJdbcRepositoryTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TodoJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table todos (id bigint generated by default as identity primary key, "
+                + "title varchar(255) not null, description varchar(1000) not null, status varchar(20) not null, "
+                + "version bigint default 0 not null)");
+        repository = new TodoJdbcRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("insertAll() debe insertar en batch y asignar los ids generados en orden")
+    void insertAll_shouldAssignGeneratedIds() {
+        List<TodoEntity> todos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            todos.add(new TodoEntity(null, "Todo " + i, "Desc", TodoStatus.PENDING));
+        }
+
+        repository.insertAll(todos);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i + 1L, todos.get(i).getId());
+        }
+        assertEquals("Todo 3", jdbcTemplate.queryForObject("select title from todos where id = 4", String.class));
+    }
+
+    @Test
+    @DisplayName("findPage() debe leer solo las columnas pedidas y respetar cursor y estado")
+    void findPage_shouldReadOnlyRequestedColumns() {
+        repository.insertAll(new ArrayList<>(List.of(
+                new TodoEntity(null, "Uno", "Desc", TodoStatus.PENDING),
+                new TodoEntity(null, "Dos", "Desc", TodoStatus.COMPLETED),
+                new TodoEntity(null, "Tres", "Desc", TodoStatus.COMPLETED))));
+
+        List<TodoResponse> page = repository.findPage(1L, TodoStatus.COMPLETED, 10, TodoField.parse("title"));
+
+        assertEquals(List.of(new TodoResponse(2L, "Dos", null, null, null), new TodoResponse(3L, "Tres", null, null, null)),
+                page);
+        assertEquals(1, repository.findPage(0L, null, 1, TodoField.ALL).size());
+    }
+
+    @Test
+    @DisplayName("forEach() debe recorrer todas las filas")
+    void forEach_shouldVisitEveryRow() {
+        repository.insertAll(new ArrayList<>(List.of(
+                new TodoEntity(null, "Uno", "Desc", TodoStatus.PENDING),
+                new TodoEntity(null, "Dos", "Desc", TodoStatus.COMPLETED))));
+
+        List<TodoResponse> visited = new ArrayList<>();
+        repository.forEach(visited::add);
+
+        assertEquals(2, visited.size());
+        assertTrue(visited.stream().anyMatch(t -> t.status() == TodoStatus.COMPLETED));
+    }
+
+    @Test
+    @DisplayName("updateStatusChunk() con filtro debe cambiar solo las filas que cumplen, por bloques")
+    void updateStatusChunk_shouldPageThroughFilter() {
+        List<TodoEntity> todos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            todos.add(new TodoEntity(null, (i % 2 == 0 ? "Proyecto_X " : "Otro ") + i, "Desc", TodoStatus.IN_PROGRESS));
+        }
+        todos.add(new TodoEntity(null, "Proyecto_X pendiente", "Desc", TodoStatus.PENDING));
+        repository.insertAll(todos);
+        TodoFilter filter = new TodoFilter(TodoStatus.IN_PROGRESS, "Proyecto_X");
+
+        ChangedTodos first = repository.updateStatusChunk(null, filter, 0L, 2, TodoStatus.CANCELLED);
+        ChangedTodos second = repository.updateStatusChunk(null, filter, first.ids()[1], 2, TodoStatus.CANCELLED);
+
+        assertArrayEquals(new long[] {1, 3}, first.ids());
+        assertArrayEquals(new long[] {5}, second.ids());
+        assertEquals(2, first.previousCounts()[TodoStatus.IN_PROGRESS.ordinal()]);
+        assertEquals(1, second.previousCounts()[TodoStatus.IN_PROGRESS.ordinal()]);
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from todos where status = 'CANCELLED'", Integer.class));
+        assertEquals("PENDING", jdbcTemplate.queryForObject("select status from todos where id = 6", String.class));
+        assertEquals(1L, jdbcTemplate.queryForObject("select version from todos where id = 1", Long.class));
+        assertEquals(0L, jdbcTemplate.queryForObject("select version from todos where id = 6", Long.class));
+    }
+
+    @Test
+    @DisplayName("deleteChunk() con ids debe borrar solo los que existen y regresarlos")
+    void deleteChunk_shouldReturnExistingIds() {
+        repository.insertAll(new ArrayList<>(List.of(
+                new TodoEntity(null, "Uno", "Desc", TodoStatus.PENDING),
+                new TodoEntity(null, "Dos", "Desc", TodoStatus.PENDING))));
+
+        ChangedTodos deleted = repository.deleteChunk(List.of(2L, 99L), null, 0L, 10);
+
+        assertArrayEquals(new long[] {2}, deleted.ids());
+        assertArrayEquals(new long[] {1, 0, 0, 0}, deleted.previousCounts());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from todos", Integer.class));
+    }
+
+    @Test
+    @DisplayName("countByStatus() debe contar los todos de cada estado")
+    void countByStatus_shouldCountEachStatus() {
+        repository.insertAll(new ArrayList<>(List.of(
+                new TodoEntity(null, "Uno", "Desc", TodoStatus.PENDING),
+                new TodoEntity(null, "Dos", "Desc", TodoStatus.PENDING),
+                new TodoEntity(null, "Tres", "Desc", TodoStatus.CANCELLED))));
+
+        long[] counts = repository.countByStatus();
+
+        assertEquals(2, counts[TodoStatus.PENDING.ordinal()]);
+        assertEquals(1, counts[TodoStatus.CANCELLED.ordinal()]);
+        assertEquals(0, counts[TodoStatus.COMPLETED.ordinal()]);
+    }
+
+    @Test
+    @DisplayName("updateRow() debe regresar el estado anterior y la version nueva, y respetar la version esperada")
+    void updateRow_shouldReturnPreviousStatusAndNewVersion() {
+        repository.insertAll(new ArrayList<>(List.of(new TodoEntity(null, "Uno", "Desc", TodoStatus.IN_PROGRESS))));
+
+        UpdatedTodo updated = repository.updateRow(1L, null, "Otro", "Otra", TodoStatus.COMPLETED);
+        UpdatedTodo stale = repository.updateRow(1L, 0L, "Tarde", "Tarde", TodoStatus.PENDING);
+        UpdatedTodo current = repository.updateRow(1L, 1L, "Otra vez", "Otra", TodoStatus.CANCELLED);
+
+        assertEquals(new UpdatedTodo(TodoStatus.IN_PROGRESS, 1L), updated);
+        assertNull(stale);
+        assertEquals(new UpdatedTodo(TodoStatus.COMPLETED, 2L), current);
+        assertNull(repository.updateRow(99L, null, "Nada", "Nada", TodoStatus.PENDING));
+        assertEquals("Otra vez", jdbcTemplate.queryForObject("select title from todos where id = 1", String.class));
+    }
+
+    @Test
+    @DisplayName("deleteRow() debe regresar el estado de la fila borrada o null si no existia")
+    void deleteRow_shouldReturnPreviousStatus() {
+        repository.insertAll(new ArrayList<>(List.of(new TodoEntity(null, "Uno", "Desc", TodoStatus.CANCELLED))));
+
+        assertEquals(TodoStatus.CANCELLED, repository.deleteRow(1L));
+        assertNull(repository.deleteRow(1L));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from todos", Integer.class));
+    }
+}
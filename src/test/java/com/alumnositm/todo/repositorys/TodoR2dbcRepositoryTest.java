@@ -0,0 +1,88 @@
+package com.alumnositm.todo.repositorys;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoStatus;
+
+import io.r2dbc.spi.ConnectionFactories;
+
+@DisplayName("Tests de TodoR2dbcRepository sobre H2")
+class TodoR2dbcRepositoryTest {
+
+    private DatabaseClient databaseClient;
+    private TodoR2dbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem:///" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        databaseClient.sql("create table todos (id bigint generated by default as identity primary key, "
+                + "title varchar(255) not null, description varchar(1000) not null, status varchar(20) not null, "
+                + "version bigint default 0 not null)")
+                .then()
+                .block();
+        repository = new TodoR2dbcRepository(databaseClient);
+    }
+
+    private TodoEntity insert(String title, TodoStatus status) {
+        return repository.insert(new TodoEntity(null, title, "Desc", status)).block();
+    }
+
+    @Test
+    @DisplayName("insert() debe regresar el todo con el id generado")
+    void insert_shouldAssignGeneratedId() {
+        TodoEntity first = insert("Uno", TodoStatus.PENDING);
+        TodoEntity second = insert("Dos", TodoStatus.PENDING);
+
+        assertEquals(1L, first.getId());
+        assertEquals(2L, second.getId());
+        assertEquals("Dos", repository.findById(2L).block().getTitle());
+    }
+
+    @Test
+    @DisplayName("findPage() debe paginar por id y filtrar por estado")
+    void findPage_shouldUseCursorAndStatus() {
+        insert("Uno", TodoStatus.PENDING);
+        insert("Dos", TodoStatus.COMPLETED);
+        insert("Tres", TodoStatus.PENDING);
+
+        List<TodoEntity> page = repository.findPage(1L, null, 10).collectList().block();
+        List<TodoEntity> pending = repository.findPage(0L, TodoStatus.PENDING, 10).collectList().block();
+
+        assertEquals(List.of(2L, 3L), page.stream().map(TodoEntity::getId).toList());
+        assertEquals(List.of(1L, 3L), pending.stream().map(TodoEntity::getId).toList());
+    }
+
+    @Test
+    @DisplayName("update() y deleteById() deben regresar 0 si el id no existe")
+    void updateAndDelete_shouldReportAffectedRows() {
+        insert("Uno", TodoStatus.PENDING);
+
+        assertEquals(1L, repository.update(new TodoEntity(1L, "Cambiado", "Desc", TodoStatus.COMPLETED)).block());
+        assertEquals(0L, repository.update(new TodoEntity(99L, "Cambiado", "Desc", TodoStatus.COMPLETED)).block());
+        assertEquals(TodoStatus.COMPLETED, repository.findById(1L).block().getStatus());
+        assertEquals(1L, repository.deleteById(1L).block());
+        assertEquals(0L, repository.deleteById(1L).block());
+    }
+
+    @Test
+    @DisplayName("searchByTitle() debe regresar primero los titulos que empiezan con el texto")
+    void searchByTitle_shouldRankPrefixFirst() {
+        insert("Comprar pan", TodoStatus.PENDING);
+        insert("Pan dulce", TodoStatus.PENDING);
+        insert("Leche", TodoStatus.PENDING);
+
+        List<TodoEntity> found = repository.searchByTitle("pan", 10).collectList().block();
+
+        assertEquals(List.of("Pan dulce", "Comprar pan"), found.stream().map(TodoEntity::getTitle).toList());
+    }
+}
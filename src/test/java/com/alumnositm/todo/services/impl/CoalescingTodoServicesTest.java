@@ -0,0 +1,168 @@
+package com.alumnositm.todo.services.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.services.TodoServices;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de CoalescingTodoServices")
+class CoalescingTodoServicesTest {
+
+    private static final int CALLERS = 8;
+
+    @Mock
+    private TodoServices delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Map<Object, Object> cache;
+    private CoalescingTodoServices services;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ConcurrentHashMap<>();
+        services = new CoalescingTodoServices(delegate, meterRegistry, cache);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double calls(String operation, String result) {
+        return meterRegistry.get(CoalescingTodoServices.CALLS)
+                .tag("operation", operation).tag("result", result)
+                .functionCounter().count();
+    }
+
+    // Lanza CALLERS llamadas y deja terminar la consulta cuando todas estan esperando
+    private <T> List<T> concurrently(Callable<T> call, CountDownLatch release) throws Exception {
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(call));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls("findTodosByTitle", "coalesced") + calls("findById", "coalesced") < CALLERS - 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(5, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    @Test
+    @DisplayName("Busquedas identicas simultaneas deben hacer una sola consulta y compartir el resultado")
+    void findTodosByTitle_shouldShareOneQueryBetweenConcurrentCalls() throws Exception {
+        // Given
+        List<TodoResponse> todos = List.of(new TodoResponse(1L, "Comprar", "Desc", TodoStatus.PENDING, 0L));
+        CountDownLatch release = new CountDownLatch(1);
+        given(delegate.findTodosByTitle("comprar", 10, TodoField.ALL)).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return todos;
+        });
+
+        // When
+        List<List<TodoResponse>> results = concurrently(
+                () -> services.findTodosByTitle("comprar", 10, TodoField.ALL), release);
+
+        // Then
+        verify(delegate, times(1)).findTodosByTitle("comprar", 10, TodoField.ALL);
+        results.forEach(result -> assertSame(todos, result));
+        assertEquals(1.0, calls("findTodosByTitle", "executed"));
+        assertEquals(CALLERS - 1.0, calls("findTodosByTitle", "coalesced"));
+        assertEquals((CALLERS - 1.0) / CALLERS, meterRegistry.get(CoalescingTodoServices.RATIO)
+                .tag("operation", "findTodosByTitle").gauge().value(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Las que esperan deben recibir la misma excepcion y la siguiente llamada debe consultar otra vez")
+    void findById_shouldPropagateFailureAndNotRememberIt() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        given(delegate.findById(7)).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("base caida");
+        }).willReturn(null);
+
+        // When
+        List<String> errors = concurrently(() -> {
+            try {
+                services.findById(7);
+                return "sin error";
+            } catch (IllegalStateException e) {
+                return e.getMessage();
+            }
+        }, release);
+        TodoResponse afterFailure = services.findById(7);
+
+        // Then
+        errors.forEach(error -> assertEquals("base caida", error));
+        assertNull(afterFailure);
+        verify(delegate, times(2)).findById(7);
+    }
+
+    @Test
+    @DisplayName("findById() de un todo en cache no debe pasar por el single-flight")
+    void findById_shouldBypassSingleFlightOnCacheHit() {
+        // Given
+        TodoResponse todo = new TodoResponse(1L, "Todo", "Desc", TodoStatus.PENDING, 0L);
+        cache.put(1, todo);
+        given(delegate.findById(1)).willReturn(todo);
+
+        // When
+        TodoResponse result = services.findById(1);
+
+        // Then
+        assertSame(todo, result);
+        assertEquals(0.0, calls("findById", "executed"));
+        assertEquals(0.0, calls("findById", "coalesced"));
+    }
+
+    @Test
+    @DisplayName("Busquedas con distintos argumentos no se deben juntar")
+    void findTodosByTitle_shouldKeyByArguments() {
+        // Given
+        given(delegate.findTodosByTitle(anyString(), anyInt(), any())).willReturn(List.of());
+
+        // When
+        services.findTodosByTitle("a", 10, TodoField.ALL);
+        services.findTodosByTitle("a", 20, TodoField.ALL);
+        services.findTodosByTitle("b", 10, TodoField.parse("title"));
+
+        // Then
+        verify(delegate, times(3)).findTodosByTitle(anyString(), anyInt(), any());
+        assertEquals(3.0, calls("findTodosByTitle", "executed"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.alumnositm.todo.services.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.services.TodoServices;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de MeteredTodoServices")
+class MeteredTodoServicesTest {
+
+    @Mock
+    private TodoServices delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Map<Object, Object> cache;
+    private MeteredTodoServices services;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ConcurrentHashMap<>();
+        services = new MeteredTodoServices(delegate, meterRegistry, cache);
+    }
+
+    private long count(String method, String outcome, String cache) {
+        return meterRegistry.get(MeteredTodoServices.TIMER)
+                .tag("method", method).tag("outcome", outcome).tag("cache", cache)
+                .timer().count();
+    }
+
+    @Test
+    @DisplayName("findById() debe separar hit/miss de la cache y found/not_found")
+    void findById_shouldTagCacheAndOutcome() {
+        TodoResponse todo = new TodoResponse(1L, "Todo", "Desc", TodoStatus.PENDING, 0L);
+        given(delegate.findById(1)).willReturn(todo);
+        given(delegate.findById(2)).willReturn(null);
+        cache.put(1, todo);
+
+        services.findById(1);
+        services.findById(2);
+
+        assertEquals(1, count("findById", "found", "hit"));
+        assertEquals(1, count("findById", "not_found", "miss"));
+        assertEquals(0, count("findById", "found", "miss"));
+    }
+
+    @Test
+    @DisplayName("deleteTodoById() debe registrar found o not_found segun el resultado")
+    void deleteTodoById_shouldTagOutcome() {
+        given(delegate.deleteTodoById(1)).willReturn(true);
+        given(delegate.deleteTodoById(2)).willReturn(false);
+
+        assertTrue(services.deleteTodoById(1));
+        assertFalse(services.deleteTodoById(2));
+
+        assertEquals(1, count("deleteTodoById", "found", "none"));
+        assertEquals(1, count("deleteTodoById", "not_found", "none"));
+    }
+
+    @Test
+    @DisplayName("Una excepcion del servicio se registra con outcome=error y se vuelve a lanzar")
+    void error_shouldBeRecordedAndRethrown() {
+        given(delegate.findTodosByTitle(anyString(), anyInt(), any())).willThrow(new IllegalStateException("falla"));
+
+        assertThrows(IllegalStateException.class, () -> services.findTodosByTitle("x", 10, TodoField.ALL));
+
+        assertEquals(1, count("findTodosByTitle", "error", "none"));
+        assertEquals(0, count("findTodosByTitle", "success", "none"));
+    }
+
+    @Test
+    @DisplayName("createTodos() debe contar las filas creadas")
+    void createTodos_shouldCountRows() {
+        given(delegate.createTodos(anyList())).willReturn(List.of(new TodoEntity(), new TodoEntity()));
+
+        services.createTodos(List.of(new CreateTodoRequest("A", "B"), new CreateTodoRequest("C", "D")));
+
+        assertEquals(2.0, meterRegistry.get(MeteredTodoServices.BULK_ROWS).tag("operation", "create").counter().count());
+    }
+}
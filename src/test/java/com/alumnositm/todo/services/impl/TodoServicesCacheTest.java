@@ -0,0 +1,139 @@
+package com.alumnositm.todo.services.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.alumnositm.todo.config.CacheConfig;
+import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.outbox.TodoOutbox;
+import com.alumnositm.todo.repositorys.TodoJdbcRepository;
+import com.alumnositm.todo.repositorys.TodoRepository;
+import com.alumnositm.todo.repositorys.UpdatedTodo;
+import com.alumnositm.todo.services.TodoServices;
+import com.alumnositm.todo.services.search.TodoSearchEngine;
+import com.alumnositm.todo.stats.TodoStatusCounters;
+
+@SpringBootTest(classes = {CacheConfig.class, TodoServicesImpl.class})
+@DisplayName("Tests de la cache de findById")
+class TodoServicesCacheTest {
+
+    @Autowired
+    private TodoServices todoServices;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private TodoRepository todoRepository;
+
+    @MockitoBean
+    private TodoJdbcRepository todoJdbcRepository;
+
+    @MockitoBean
+    private TodoSearchEngine todoSearchEngine;
+
+    @MockitoBean
+    private TodoOutbox todoOutbox;
+
+    @MockitoBean
+    private TransactionOperations transactionOperations;
+
+    @MockitoBean
+    private TodoStatusCounters todoStatusCounters;
+
+    private TodoResponse sampleTodo;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.TODO_BY_ID).clear();
+        sampleTodo = new TodoResponse(1L, "Sample Todo", "Sample Description", TodoStatus.PENDING, 0L);
+    }
+
+    @Test
+    @DisplayName("findById() debe leer del repositorio solo la primera vez")
+    void findById_shouldReadThroughOnce() {
+        given(todoRepository.findResponseById(1L)).willReturn(Optional.of(sampleTodo));
+
+        assertEquals(sampleTodo, todoServices.findById(1));
+        assertEquals(sampleTodo, todoServices.findById(1));
+
+        verify(todoRepository, times(1)).findResponseById(1L);
+    }
+
+    @Test
+    @DisplayName("findById() debe guardar en cache los no encontrados")
+    void findById_shouldCacheNotFound() {
+        given(todoRepository.findResponseById(999L)).willReturn(Optional.empty());
+
+        assertNull(todoServices.findById(999));
+        assertNull(todoServices.findById(999));
+
+        verify(todoRepository, times(1)).findResponseById(999L);
+    }
+
+    @Test
+    @DisplayName("createTodo() debe dejar el nuevo todo en cache")
+    void createTodo_shouldPutInCache() {
+        given(todoRepository.save(any(TodoEntity.class)))
+                .willReturn(new TodoEntity(1L, "Sample Todo", "Sample Description", TodoStatus.PENDING, 0L));
+
+        TodoResponse created = todoServices.createTodo(new CreateTodoRequest("Sample Todo", "Sample Description"));
+
+        assertEquals(sampleTodo, created);
+        assertEquals(sampleTodo, todoServices.findById(1));
+        verify(todoRepository, never()).findResponseById(anyLong());
+    }
+
+    @Test
+    @DisplayName("createTodos() debe quitar de la cache los ids que estaban como no encontrados")
+    void createTodos_shouldEvictNotFound() {
+        given(todoRepository.findResponseById(1L)).willReturn(Optional.empty()).willReturn(Optional.of(sampleTodo));
+        willAnswer(invocation -> {
+            List<TodoEntity> entities = invocation.getArgument(0);
+            entities.get(0).setId(1L);
+            return null;
+        }).given(todoJdbcRepository).insertAll(anyList());
+
+        assertNull(todoServices.findById(1));
+        todoServices.createTodos(List.of(new CreateTodoRequest("Sample Todo", "Sample Description")));
+
+        assertEquals(sampleTodo, todoServices.findById(1));
+        verify(todoRepository, times(2)).findResponseById(1L);
+    }
+
+    @Test
+    @DisplayName("updateTodoById() y deleteTodoById() deben invalidar la cache")
+    void mutations_shouldEvict() {
+        given(todoRepository.findResponseById(1L)).willReturn(Optional.of(sampleTodo));
+        given(todoJdbcRepository.updateRow(eq(1L), isNull(), anyString(), anyString(), any(TodoStatus.class)))
+                .willReturn(new UpdatedTodo(TodoStatus.PENDING, 1L));
+        given(todoJdbcRepository.deleteRow(1L)).willReturn(TodoStatus.COMPLETED);
+
+        todoServices.findById(1);
+        todoServices.updateTodoById(1, new UpdateTodoRequest("Otro", "Otra", TodoStatus.COMPLETED), null);
+        todoServices.findById(1);
+        todoServices.deleteTodoById(1);
+        todoServices.findById(1);
+
+        // cada findById despues de un cambio vuelve a leer del repositorio
+        verify(todoRepository, times(3)).findResponseById(1L);
+    }
+}
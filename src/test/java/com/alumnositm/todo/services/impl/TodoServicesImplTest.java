@@ -5,22 +5,48 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.alumnositm.todo.config.CacheConfig;
 import com.alumnositm.todo.dtos.request.CreateTodoRequest;
+import com.alumnositm.todo.dtos.request.TodoFilter;
 import com.alumnositm.todo.dtos.request.UpdateTodoRequest;
+import com.alumnositm.todo.dtos.response.TodoPageResponse;
+import com.alumnositm.todo.dtos.response.TodoResponse;
 import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.events.TodoChangedEvent;
+import com.alumnositm.todo.events.TodoStatusCountsChangedEvent;
+import com.alumnositm.todo.events.TodosBulkChangedEvent;
+import com.alumnositm.todo.helpers.TodoField;
 import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.outbox.TodoOutbox;
+import com.alumnositm.todo.repositorys.ChangedTodos;
+import com.alumnositm.todo.repositorys.TodoJdbcRepository;
 import com.alumnositm.todo.repositorys.TodoRepository;
+import com.alumnositm.todo.repositorys.UpdatedTodo;
+import com.alumnositm.todo.services.search.TodoSearchEngine;
+import com.alumnositm.todo.stats.TodoStatusCounters;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Tests del servicio TodoServicesImpl")
@@ -29,6 +55,27 @@ class TodoServicesImplTest {
     @Mock
     private TodoRepository todoRepository;
 
+    @Mock
+    private TodoJdbcRepository todoJdbcRepository;
+
+    @Mock
+    private TodoSearchEngine todoSearchEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TodoOutbox todoOutbox;
+
+    @Mock
+    private TodoStatusCounters todoStatusCounters;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
     @InjectMocks
     private TodoServicesImpl todoServices;
 
@@ -47,46 +94,76 @@ class TodoServicesImplTest {
     }
 
     @Test
-    @DisplayName("allTodos() debe retornar lista de todos del repositorio")
-    void allTodos_shouldReturnAllTodos() {
+    @DisplayName("allTodos() debe retornar la primera pagina sin cursor siguiente cuando no hay mas")
+    void allTodos_shouldReturnFirstPage() {
         // Given
-        TodoEntity todo1 = new TodoEntity();
-        todo1.setId(1L);
-        todo1.setTitle("Todo 1");
-        todo1.setStatus(TodoStatus.PENDING);
+        TodoResponse todo1 = new TodoResponse(1L, "Todo 1", null, TodoStatus.PENDING, 0L);
+        TodoResponse todo2 = new TodoResponse(2L, "Todo 2", null, TodoStatus.COMPLETED, 0L);
 
-        TodoEntity todo2 = new TodoEntity();
-        todo2.setId(2L);
-        todo2.setTitle("Todo 2");
-        todo2.setStatus(TodoStatus.COMPLETED);
-
-        List<TodoEntity> expectedTodos = List.of(todo1, todo2);
-        given(todoRepository.findAll()).willReturn(expectedTodos);
+        given(todoRepository.findPageAfter(0L, Limit.of(11))).willReturn(List.of(todo1, todo2));
 
         // When
-        List<TodoEntity> result = todoServices.allTodos();
+        TodoPageResponse result = todoServices.allTodos(null, 10, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("Todo 1", result.get(0).getTitle());
-        assertEquals("Todo 2", result.get(1).getTitle());
-        verify(todoRepository, times(1)).findAll();
+        assertEquals(2, result.getItems().size());
+        assertEquals("Todo 1", result.getItems().get(0).title());
+        assertEquals("Todo 2", result.getItems().get(1).title());
+        assertNull(result.getNextCursor());
+        verify(todoRepository, times(1)).findPageAfter(0L, Limit.of(11));
     }
 
     @Test
-    @DisplayName("allTodos() debe retornar lista vacía cuando no hay todos")
-    void allTodos_shouldReturnEmptyListWhenNoTodos() {
+    @DisplayName("allTodos() debe regresar el cursor siguiente cuando hay mas registros")
+    void allTodos_shouldReturnNextCursorWhenMoreRows() {
         // Given
-        given(todoRepository.findAll()).willReturn(List.of());
+        List<TodoResponse> rows = List.of(todoWithId(11L), todoWithId(12L), todoWithId(13L));
+        given(todoRepository.findPageAfter(10L, Limit.of(3))).willReturn(rows);
 
         // When
-        List<TodoEntity> result = todoServices.allTodos();
+        TodoPageResponse result = todoServices.allTodos(10L, 2, null, TodoField.ALL);
 
         // Then
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(todoRepository, times(1)).findAll();
+        assertEquals(2, result.getItems().size());
+        assertEquals(12L, result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("allTodos() debe filtrar por estado y limitar el tamaño de pagina")
+    void allTodos_shouldFilterByStatusAndClampLimit() {
+        // Given
+        given(todoRepository.findPageByStatusAfter(
+                TodoStatus.COMPLETED, 0L, Limit.of(TodoServicesImpl.MAX_PAGE_SIZE + 1))).willReturn(List.of());
+
+        // When
+        TodoPageResponse result = todoServices.allTodos(null, 100_000, TodoStatus.COMPLETED, null);
+
+        // Then
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+        verify(todoRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("allTodos() con fields debe leer por JDBC solo esas columnas")
+    void allTodos_withFields_shouldSelectOnlyThoseColumns() {
+        // Given
+        Set<TodoField> fields = TodoField.parse("title,status");
+        given(todoJdbcRepository.findPage(0L, TodoStatus.PENDING, 11, fields))
+                .willReturn(List.of(new TodoResponse(1L, "Todo 1", null, TodoStatus.PENDING, null)));
+
+        // When
+        TodoPageResponse result = todoServices.allTodos(null, 10, TodoStatus.PENDING, fields);
+
+        // Then
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getItems().get(0).description());
+        verifyNoInteractions(todoRepository);
+    }
+
+    private TodoResponse todoWithId(Long id) {
+        return new TodoResponse(id, "Todo " + id, null, TodoStatus.PENDING, 0L);
     }
 
     @Test
@@ -102,14 +179,14 @@ class TodoServicesImplTest {
         given(todoRepository.save(any(TodoEntity.class))).willReturn(savedTodo);
 
         // When
-        TodoEntity result = todoServices.createTodo(createRequest);
+        TodoResponse result = todoServices.createTodo(createRequest);
 
         // Then
         assertNotNull(result);
-        assertEquals(1L, result.getId());
-        assertEquals("New Todo", result.getTitle());
-        assertEquals("New Description", result.getDescription());
-        assertEquals(TodoStatus.PENDING, result.getStatus());
+        assertEquals(1L, result.id());
+        assertEquals("New Todo", result.title());
+        assertEquals("New Description", result.description());
+        assertEquals(TodoStatus.PENDING, result.status());
         verify(todoRepository, times(1)).save(any(TodoEntity.class));
     }
 
@@ -131,54 +208,58 @@ class TodoServicesImplTest {
     }
 
     @Test
-    @DisplayName("findById() debe retornar todo cuando existe")
+    @DisplayName("findById() debe retornar la proyeccion cuando existe, sin cargar la entidad")
     void findById_shouldReturnTodoWhenExists() {
         // Given
-        given(todoRepository.findById(1L)).willReturn(Optional.of(sampleTodo));
+        given(todoRepository.findResponseById(1L)).willReturn(Optional.of(TodoResponse.from(sampleTodo)));
 
         // When
-        TodoEntity result = todoServices.findById(1);
+        TodoResponse result = todoServices.findById(1);
 
         // Then
         assertNotNull(result);
-        assertEquals(1L, result.getId());
-        assertEquals("Sample Todo", result.getTitle());
-        assertEquals(TodoStatus.PENDING, result.getStatus());
-        verify(todoRepository, times(1)).findById(1L);
+        assertEquals(1L, result.id());
+        assertEquals("Sample Todo", result.title());
+        assertEquals(TodoStatus.PENDING, result.status());
+        verify(todoRepository, times(1)).findResponseById(1L);
+        verify(todoRepository, never()).findById(anyLong());
     }
 
     @Test
     @DisplayName("findById() debe retornar null cuando no existe")
     void findById_shouldReturnNullWhenNotExists() {
         // Given
-        given(todoRepository.findById(999L)).willReturn(Optional.empty());
+        given(todoRepository.findResponseById(999L)).willReturn(Optional.empty());
 
         // When
-        TodoEntity result = todoServices.findById(999);
+        TodoResponse result = todoServices.findById(999);
 
         // Then
         assertNull(result);
-        verify(todoRepository, times(1)).findById(999L);
+        verify(todoRepository, times(1)).findResponseById(999L);
     }
 
     @Test
-    @DisplayName("updateTodoById() debe actualizar y retornar todo cuando existe")
+    @DisplayName("updateTodoById() debe actualizar con un solo UPDATE y retornar el todo sin volver a leerlo")
     void updateTodoById_shouldUpdateAndReturnTodoWhenExists() {
         // Given
         UpdateTodoRequest updateRequest = new UpdateTodoRequest("Updated Title", "Updated Description", TodoStatus.COMPLETED);
-        given(todoRepository.findById(1L)).willReturn(Optional.of(sampleTodo));
-        given(todoRepository.save(any(TodoEntity.class))).willReturn(sampleTodo);
+        given(todoJdbcRepository.updateRow(1L, null, "Updated Title", "Updated Description", TodoStatus.COMPLETED))
+                .willReturn(new UpdatedTodo(TodoStatus.PENDING, 4L));
 
         // When
-        TodoEntity result = todoServices.updateTodoById(1, updateRequest);
+        TodoResponse result = todoServices.updateTodoById(1, updateRequest, null);
 
         // Then
         assertNotNull(result);
-        assertEquals("Updated Title", result.getTitle());
-        assertEquals("Updated Description", result.getDescription());
-        assertEquals(TodoStatus.COMPLETED, result.getStatus());
-        verify(todoRepository, times(1)).findById(1L);
-        verify(todoRepository, times(1)).save(sampleTodo);
+        assertEquals(1L, result.id());
+        assertEquals("Updated Title", result.title());
+        assertEquals("Updated Description", result.description());
+        assertEquals(TodoStatus.COMPLETED, result.status());
+        assertEquals(4L, result.version());
+        verifyNoInteractions(todoRepository);
+        verify(todoJdbcRepository).updateRow(1L, null, "Updated Title", "Updated Description", TodoStatus.COMPLETED);
+        verifyNoMoreInteractions(todoJdbcRepository);
     }
 
     @Test
@@ -186,15 +267,15 @@ class TodoServicesImplTest {
     void updateTodoById_shouldChangeStatusToCompleted() {
         // Given
         UpdateTodoRequest updateRequest = new UpdateTodoRequest("Updated", "Updated Desc", TodoStatus.COMPLETED);
-        given(todoRepository.findById(1L)).willReturn(Optional.of(sampleTodo));
-        given(todoRepository.save(any(TodoEntity.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(todoJdbcRepository.updateRow(eq(1L), isNull(), anyString(), anyString(), any(TodoStatus.class)))
+                .willReturn(new UpdatedTodo(TodoStatus.PENDING, 1L));
 
         // When
-        TodoEntity result = todoServices.updateTodoById(1, updateRequest);
+        TodoResponse result = todoServices.updateTodoById(1, updateRequest, null);
 
         // Then
-        assertEquals(TodoStatus.COMPLETED, result.getStatus());
-        verify(todoRepository).save(argThat(entity -> entity.getStatus() == TodoStatus.COMPLETED));
+        assertEquals(TodoStatus.COMPLETED, result.status());
+        verify(todoJdbcRepository).updateRow(1L, null, "Updated", "Updated Desc", TodoStatus.COMPLETED);
     }
 
     @Test
@@ -202,16 +283,249 @@ class TodoServicesImplTest {
     void updateTodoById_shouldReturnNullWhenNotExists() {
         // Given
         UpdateTodoRequest updateRequest = new UpdateTodoRequest("Updated", "Updated Desc", TodoStatus.IN_PROGRESS);
-        given(todoRepository.findById(999L)).willReturn(Optional.empty());
 
         // When
-        TodoEntity result = todoServices.updateTodoById(999, updateRequest);
+        TodoResponse result = todoServices.updateTodoById(999, updateRequest, null);
 
         // Then
         assertNull(result);
-        verify(todoRepository, times(1)).findById(999L);
+        verify(todoJdbcRepository).updateRow(999L, null, "Updated", "Updated Desc", TodoStatus.COMPLETED);
+        verifyNoInteractions(todoRepository);
+        verify(eventPublisher, never()).publishEvent(any(TodoChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("updateTodoById() con version esperada debe actualizar solo esa version y regresar la siguiente")
+    void updateTodoById_withExpectedVersion_shouldUpdateThatVersion() {
+        // Given
+        UpdateTodoRequest updateRequest = new UpdateTodoRequest("Updated", "Updated Desc", TodoStatus.COMPLETED);
+        given(todoJdbcRepository.updateRow(1L, 2L, "Updated", "Updated Desc", TodoStatus.COMPLETED))
+                .willReturn(new UpdatedTodo(TodoStatus.PENDING, 3L));
+
+        // When
+        TodoResponse result = todoServices.updateTodoById(1, updateRequest, 2L);
+
+        // Then
+        assertEquals(3L, result.version());
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    @DisplayName("updateTodoById() con version vencida debe lanzar OptimisticLockingFailureException")
+    void updateTodoById_withStaleVersion_shouldThrow() {
+        // Given
+        UpdateTodoRequest updateRequest = new UpdateTodoRequest("Updated", "Updated Desc", TodoStatus.COMPLETED);
+        given(todoRepository.existsById(1L)).willReturn(true);
+
+        // When / Then: el UPDATE no cambio nada; solo entonces se revisa si la fila existe
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> todoServices.updateTodoById(1, updateRequest, 2L));
+        assertNull(todoServices.updateTodoById(999, updateRequest, 2L));
+        verifyNoInteractions(todoOutbox, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("deleteTodoById() debe borrar con un solo DELETE y no intentarlo si la fila no existe")
+    void deleteTodoById_shouldDeleteWithSingleStatement() {
+        // Given
+        given(todoJdbcRepository.deleteRow(1L)).willReturn(TodoStatus.PENDING);
+
+        // When / Then
+        assertTrue(todoServices.deleteTodoById(1));
+        assertFalse(todoServices.deleteTodoById(999));
+        verifyNoInteractions(todoRepository);
+        verify(eventPublisher, times(1)).publishEvent(any(TodoChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("exportTodos() debe entregar cada fila del cursor al consumer")
+    void exportTodos_shouldStreamRowsToConsumer() {
+        // Given
+        willAnswer(invocation -> {
+            Consumer<TodoResponse> consumer = invocation.getArgument(0);
+            consumer.accept(TodoResponse.from(sampleTodo));
+            consumer.accept(todoWithId(2L));
+            return null;
+        }).given(todoJdbcRepository).forEach(any());
+
+        // When
+        List<TodoResponse> exported = new ArrayList<>();
+        todoServices.exportTodos(exported::add);
+
+        // Then
+        assertEquals(2, exported.size());
+        assertEquals(1L, exported.get(0).id());
+        assertEquals("Todo 2", exported.get(1).title());
+        verify(todoRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("createTodo(), updateTodoById() y deleteTodoById() deben publicar el cambio")
+    void mutations_shouldPublishChangeEvents() {
+        // Given
+        given(todoRepository.save(any(TodoEntity.class))).willReturn(sampleTodo);
+        given(todoJdbcRepository.updateRow(eq(1L), isNull(), anyString(), anyString(), any(TodoStatus.class)))
+                .willReturn(new UpdatedTodo(TodoStatus.PENDING, 1L));
+        given(todoJdbcRepository.deleteRow(1L)).willReturn(TodoStatus.COMPLETED);
+
+        // When
+        todoServices.createTodo(createRequest);
+        todoServices.updateTodoById(1, new UpdateTodoRequest("Otro", "Otra", TodoStatus.COMPLETED), null);
+        todoServices.deleteTodoById(1);
+
+        // Then
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof TodoChangedEvent event && event.type() == TodoChangedEvent.Type.CREATED));
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof TodoChangedEvent event && event.type() == TodoChangedEvent.Type.UPDATED));
+        verify(eventPublisher).publishEvent(new TodoChangedEvent(TodoChangedEvent.Type.DELETED, 1L, null));
+    }
+
+    @Test
+    @DisplayName("createTodo(), updateTodoById() y deleteTodoById() deben escribir el cambio en el outbox")
+    void mutations_shouldWriteOutbox() {
+        // Given
+        given(todoRepository.save(any(TodoEntity.class))).willReturn(sampleTodo);
+        given(todoJdbcRepository.updateRow(eq(1L), isNull(), anyString(), anyString(), any(TodoStatus.class)))
+                .willReturn(new UpdatedTodo(TodoStatus.PENDING, 1L));
+        given(todoJdbcRepository.deleteRow(1L)).willReturn(TodoStatus.COMPLETED);
+
+        // When
+        todoServices.createTodo(createRequest);
+        todoServices.updateTodoById(1, new UpdateTodoRequest("Otro", "Otra", TodoStatus.COMPLETED), null);
+        todoServices.deleteTodoById(1);
+        todoServices.deleteTodoById(2);
+
+        // Then
+        verify(todoOutbox).recordCreated(List.of(sampleTodo));
+        verify(todoOutbox).recordUpdated(argThat(todo -> todo.getId() == 1L));
+        verify(todoOutbox).recordDeleted(1L);
+        verifyNoMoreInteractions(todoOutbox);
+    }
+
+    @Test
+    @DisplayName("Las escrituras deben publicar cuanto cambia cada estado con el estado previo de la misma sentencia")
+    void mutations_shouldPublishStatusCountDeltas() {
+        // Given
+        given(todoRepository.save(any(TodoEntity.class))).willReturn(sampleTodo);
+        given(todoJdbcRepository.updateRow(eq(1L), isNull(), anyString(), anyString(), any(TodoStatus.class)))
+                .willReturn(new UpdatedTodo(TodoStatus.IN_PROGRESS, 1L));
+        given(todoJdbcRepository.deleteRow(2L)).willReturn(TodoStatus.COMPLETED);
+        given(todoJdbcRepository.updateStatusChunk(List.of(3L, 4L), null, 0L, TodoServicesImpl.BULK_CHUNK_SIZE, TodoStatus.CANCELLED))
+                .willReturn(new ChangedTodos(new long[] {3L, 4L}, new long[] {1, 0, 1, 0}));
+
+        // When
+        todoServices.createTodo(createRequest);
+        todoServices.updateTodoById(1, new UpdateTodoRequest("Otro", "Otra", TodoStatus.COMPLETED), null);
+        todoServices.deleteTodoById(2);
+        todoServices.updateStatus(List.of(4L, 3L), null, TodoStatus.CANCELLED);
+
+        // Then: deltas por ordinal (PENDING, COMPLETED, IN_PROGRESS, CANCELLED)
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof TodoStatusCountsChangedEvent event && Arrays.equals(event.deltas(), new long[] {1, 0, 0, 0})));
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof TodoStatusCountsChangedEvent event && Arrays.equals(event.deltas(), new long[] {0, 1, -1, 0})));
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof TodoStatusCountsChangedEvent event && Arrays.equals(event.deltas(), new long[] {0, -1, 0, 0})));
+        verify(eventPublisher).publishEvent(argThat((Object e) ->
+                e instanceof TodoStatusCountsChangedEvent event && Arrays.equals(event.deltas(), new long[] {-1, 0, -1, 2})));
+    }
+
+    @Test
+    @DisplayName("findTodosByTitle() debe delegar al motor de busqueda con el limite acotado")
+    void findTodosByTitle_shouldDelegateWithClampedLimit() {
+        // Given
+        given(todoSearchEngine.search("Sample", TodoServicesImpl.MAX_SEARCH_LIMIT, TodoField.ALL))
+                .willReturn(List.of(TodoResponse.from(sampleTodo)));
+
+        // When
+        List<TodoResponse> result = todoServices.findTodosByTitle("  Sample ", 10_000, null);
+
+        // Then
+        assertEquals(1, result.size());
+        verify(todoSearchEngine).search("Sample", TodoServicesImpl.MAX_SEARCH_LIMIT, TodoField.ALL);
+        verifyNoInteractions(todoJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("createTodos() debe insertar en batch con estado PENDING, publicar un solo evento y quitar los ids de todoById")
+    void createTodos_shouldInsertBatchAndPublish() {
+        // Given
+        willAnswer(invocation -> {
+            List<TodoEntity> entities = invocation.getArgument(0);
+            long id = 10;
+            for (TodoEntity entity : entities) {
+                entity.setId(id++);
+            }
+            return null;
+        }).given(todoJdbcRepository).insertAll(anyList());
+        Cache todoById = mock(Cache.class);
+        given(cacheManager.getCache(CacheConfig.TODO_BY_ID)).willReturn(todoById);
+
+        // When
+        List<TodoEntity> result = todoServices.createTodos(List.of(createRequest, new CreateTodoRequest("Otro", "Otra")));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(10L, result.get(0).getId());
+        assertEquals(11L, result.get(1).getId());
+        assertTrue(result.stream().allMatch(t -> t.getStatus() == TodoStatus.PENDING));
+        ArgumentCaptor<TodosBulkChangedEvent> event = ArgumentCaptor.forClass(TodosBulkChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertArrayEquals(new long[] {10L, 11L}, event.getValue().ids());
+        assertEquals(TodoChangedEvent.Type.CREATED, event.getValue().type());
+        verify(eventPublisher, never()).publishEvent(any(TodoChangedEvent.class));
+        verify(todoById).evict(10);
+        verify(todoById).evict(11);
         verify(todoRepository, never()).save(any(TodoEntity.class));
     }
 
+    @Test
+    @DisplayName("updateStatus() con filtro debe avanzar por bloques hasta que un bloque venga incompleto")
+    void updateStatus_shouldLoopOverChunks() {
+        // Given
+        TodoFilter filter = new TodoFilter(TodoStatus.IN_PROGRESS, null);
+        long[] fullChunk = new long[TodoServicesImpl.BULK_CHUNK_SIZE];
+        for (int i = 0; i < fullChunk.length; i++) {
+            fullChunk[i] = i + 1;
+        }
+        given(todoJdbcRepository.updateStatusChunk(null, filter, 0L, TodoServicesImpl.BULK_CHUNK_SIZE, TodoStatus.CANCELLED))
+                .willReturn(new ChangedTodos(fullChunk, new long[] {0, 0, fullChunk.length, 0}));
+        given(todoJdbcRepository.updateStatusChunk(null, filter, (long) fullChunk.length, TodoServicesImpl.BULK_CHUNK_SIZE, TodoStatus.CANCELLED))
+                .willReturn(new ChangedTodos(new long[] {5000L}, new long[] {0, 0, 1, 0}));
+
+        // When
+        long affected = todoServices.updateStatus(null, filter, TodoStatus.CANCELLED);
+
+        // Then
+        assertEquals(TodoServicesImpl.BULK_CHUNK_SIZE + 1L, affected);
+        verify(eventPublisher, times(2)).publishEvent(any(TodosBulkChangedEvent.class));
+        verify(transactionOperations, times(2)).execute(any());
+        verify(todoOutbox).recordStatusChanged(fullChunk, TodoStatus.CANCELLED);
+        verify(todoOutbox).recordStatusChanged(new long[] {5000L}, TodoStatus.CANCELLED);
+    }
 
+    @Test
+    @DisplayName("deleteTodos() con ids debe ordenarlos, quitar repetidos y partirlos en bloques")
+    @SuppressWarnings("unchecked")
+    void deleteTodos_shouldChunkIds() {
+        // Given
+        List<Long> ids = new ArrayList<>();
+        for (long id = TodoServicesImpl.BULK_CHUNK_SIZE + 5; id >= 1; id--) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        given(todoJdbcRepository.deleteChunk(anyList(), isNull(), eq(0L), eq(TodoServicesImpl.BULK_CHUNK_SIZE)))
+                .willAnswer(invocation -> {
+                    long[] chunk = ((List<Long>) invocation.getArgument(0)).stream().mapToLong(Long::longValue).toArray();
+                    return new ChangedTodos(chunk, new long[] {chunk.length, 0, 0, 0});
+                });
+
+        // When
+        long affected = todoServices.deleteTodos(ids, null);
+
+        // Then
+        assertEquals(TodoServicesImpl.BULK_CHUNK_SIZE + 5L, affected);
+        verify(todoJdbcRepository, times(2)).deleteChunk(anyList(), isNull(), eq(0L), eq(TodoServicesImpl.BULK_CHUNK_SIZE));
+    }
 }
@@ -0,0 +1,224 @@
+package com.alumnositm.todo.services.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.events.TodoChangedEvent;
+import com.alumnositm.todo.events.TodosBulkChangedEvent;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de la cache de busquedas")
+class CachingTodoSearchEngineTest {
+
+    private static final TodoResponse PAGAR_LUZ = new TodoResponse(1L, "Pagar luz", "Desc", TodoStatus.PENDING, 0L);
+    private static final TodoResponse PAGAR_AGUA = new TodoResponse(2L, "Pagar agua", "Desc", TodoStatus.PENDING, 0L);
+    private static final TodoResponse COMPRAR_PAN = new TodoResponse(3L, "Comprar pan", "Desc", TodoStatus.PENDING, 0L);
+
+    @Mock
+    private TodoSearchEngine delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingTodoSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new CachingTodoSearchEngine(delegate, 100, Duration.ofMinutes(5), meterRegistry);
+    }
+
+    private static TodoEntity entity(long id, String title) {
+        TodoEntity todo = new TodoEntity(id, title, "Desc", TodoStatus.PENDING);
+        todo.setVersion(1L);
+        return todo;
+    }
+
+    private double invalidations(String reason) {
+        return meterRegistry.get("todos.search.cache.invalidations").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    @DisplayName("La misma consulta normalizada con un limit menor o igual se debe responder desde la cache")
+    void search_shouldServeNormalizedQueryAndSmallerLimitFromCache() {
+        // Given
+        given(delegate.search("pagar", 10, TodoField.ALL)).willReturn(List.of(PAGAR_LUZ, PAGAR_AGUA));
+        engine.search("pagar", 10, TodoField.ALL);
+
+        // When
+        List<TodoResponse> again = engine.search("  PAGAR ", 10, TodoField.ALL);
+        List<TodoResponse> first = engine.search("Pagar", 1, TodoField.parse("title"));
+
+        // Then
+        verify(delegate, times(1)).search(anyString(), anyInt(), any());
+        assertEquals(List.of(PAGAR_LUZ, PAGAR_AGUA), again);
+        assertEquals(List.of(new TodoResponse(1L, "Pagar luz", null, null, null)), first);
+        assertEquals(2.0 / 3, meterRegistry.get("todos.search.cache.hit.ratio").gauge().value(), 1e-9);
+        assertEquals(2, meterRegistry.get("todos.search.cache.hit.age").timer().count());
+    }
+
+    @Test
+    @DisplayName("Un limit mayor que el consultado debe ir al motor, salvo que el resultado ya estuviera completo")
+    void search_shouldReloadLargerLimitOnlyWhenResultWasTruncated() {
+        // Given
+        given(delegate.search("pagar", 1, TodoField.ALL)).willReturn(List.of(PAGAR_LUZ));
+        given(delegate.search("pagar", 10, TodoField.ALL)).willReturn(List.of(PAGAR_LUZ, PAGAR_AGUA));
+        given(delegate.search("pan", 10, TodoField.ALL)).willReturn(List.of(COMPRAR_PAN));
+        engine.search("pagar", 1, TodoField.ALL);
+        engine.search("pan", 10, TodoField.ALL);
+
+        // When
+        List<TodoResponse> more = engine.search("pagar", 10, TodoField.ALL);
+        engine.search("pan", 50, TodoField.ALL);
+
+        // Then
+        assertEquals(List.of(PAGAR_LUZ, PAGAR_AGUA), more);
+        verify(delegate).search("pagar", 10, TodoField.ALL);
+        verify(delegate, never()).search("pan", 50, TodoField.ALL);
+    }
+
+    @Test
+    @DisplayName("Un alta solo debe invalidar las consultas que coinciden con su titulo")
+    void onTodoChanged_shouldInvalidateOnlyMatchingQueries() {
+        // Given
+        given(delegate.matches(anyString(), anyString(), anyString())).willCallRealMethod();
+        given(delegate.search("pagar", 10, TodoField.ALL)).willReturn(List.of(PAGAR_LUZ));
+        given(delegate.search("pan", 10, TodoField.ALL)).willReturn(List.of(COMPRAR_PAN));
+        engine.search("pagar", 10, TodoField.ALL);
+        engine.search("pan", 10, TodoField.ALL);
+
+        // When
+        engine.onTodoChanged(TodoChangedEvent.created(entity(4L, "Pagar renta")));
+        engine.search("pagar", 10, TodoField.ALL);
+        engine.search("pan", 10, TodoField.ALL);
+
+        // Then
+        verify(delegate, times(2)).search("pagar", 10, TodoField.ALL);
+        verify(delegate, times(1)).search("pan", 10, TodoField.ALL);
+        assertEquals(1.0, invalidations("write"));
+    }
+
+    @Test
+    @DisplayName("Un alta masiva solo debe invalidar las consultas que coinciden con alguno de los nuevos")
+    void onTodosChanged_bulkCreateShouldInvalidateOnlyMatchingQueries() {
+        // Given
+        given(delegate.matches(anyString(), anyString(), anyString())).willCallRealMethod();
+        given(delegate.search("pagar", 10, TodoField.ALL)).willReturn(List.of(PAGAR_LUZ));
+        given(delegate.search("pan", 10, TodoField.ALL)).willReturn(List.of(COMPRAR_PAN));
+        engine.search("pagar", 10, TodoField.ALL);
+        engine.search("pan", 10, TodoField.ALL);
+
+        // When
+        engine.onTodosChanged(TodosBulkChangedEvent.created(List.of(entity(4L, "Lavar ropa"), entity(5L, "Pagar renta"))));
+        engine.search("pagar", 10, TodoField.ALL);
+        engine.search("pan", 10, TodoField.ALL);
+
+        // Then
+        verify(delegate, times(2)).search("pagar", 10, TodoField.ALL);
+        verify(delegate, times(1)).search("pan", 10, TodoField.ALL);
+        assertEquals(1.0, invalidations("write"));
+    }
+
+    @Test
+    @DisplayName("Con la cache vacia una escritura no debe recorrer consultas")
+    void onTodoChanged_withEmptyCacheShouldNotCallMatches() {
+        // When
+        engine.onTodoChanged(TodoChangedEvent.created(entity(4L, "Pagar renta")));
+        engine.onTodosChanged(TodosBulkChangedEvent.created(List.of(entity(5L, "Pagar luz"))));
+
+        // Then
+        verify(delegate, never()).matches(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Un alta masiva que costaria demasiadas comparaciones debe vaciar la cache")
+    void onTodosChanged_hugeBulkCreateShouldClearCache() {
+        // Given
+        given(delegate.search("pan", 10, TodoField.ALL)).willReturn(List.of(COMPRAR_PAN));
+        engine.search("pan", 10, TodoField.ALL);
+        List<TodoEntity> todos = new ArrayList<>();
+        for (long id = 10; id < 10 + CachingTodoSearchEngine.MAX_MATCHES_PER_WRITE + 1; id++) {
+            todos.add(new TodoEntity(id, "Lavar ropa", "Desc", TodoStatus.PENDING));
+        }
+
+        // When
+        engine.onTodosChanged(TodosBulkChangedEvent.created(todos));
+        engine.search("pan", 10, TodoField.ALL);
+
+        // Then
+        verify(delegate, never()).matches(anyString(), anyString(), anyString());
+        verify(delegate, times(2)).search("pan", 10, TodoField.ALL);
+    }
+
+    @Test
+    @DisplayName("Una entrada reemplazada debe seguir invalidandose por los ids que contiene")
+    void onTodosChanged_shouldInvalidateReloadedEntryById() {
+        // Given: la misma consulta se vuelve a cargar con un limit mayor
+        given(delegate.search("pagar", 1, TodoField.ALL)).willReturn(List.of(PAGAR_LUZ));
+        given(delegate.search("pagar", 10, TodoField.ALL)).willReturn(List.of(PAGAR_LUZ, PAGAR_AGUA));
+        engine.search("pagar", 1, TodoField.ALL);
+        engine.search("pagar", 10, TodoField.ALL);
+
+        // When
+        engine.onTodosChanged(TodosBulkChangedEvent.statusChanged(new long[] { 1L }, TodoStatus.COMPLETED));
+        engine.search("pagar", 10, TodoField.ALL);
+
+        // Then
+        verify(delegate, times(2)).search("pagar", 10, TodoField.ALL);
+        assertEquals(1.0, invalidations("write"));
+    }
+
+    @Test
+    @DisplayName("Un cambio o una baja deben invalidar los resultados que contienen ese todo")
+    void onTodoChanged_shouldInvalidateResultsContainingTheTodo() {
+        // Given
+        given(delegate.matches(anyString(), anyString(), anyString())).willCallRealMethod();
+        given(delegate.search("pagar", 10, TodoField.ALL)).willReturn(List.of(PAGAR_LUZ, PAGAR_AGUA));
+        given(delegate.search("pan", 10, TodoField.ALL)).willReturn(List.of(COMPRAR_PAN));
+        engine.search("pagar", 10, TodoField.ALL);
+        engine.search("pan", 10, TodoField.ALL);
+
+        // When: el titulo nuevo ya no coincide, pero el resultado guardado tenia ese todo
+        engine.onTodoChanged(TodoChangedEvent.updated(entity(1L, "Luz pagada")));
+        engine.onTodosChanged(TodosBulkChangedEvent.deleted(new long[] { 3L }));
+
+        // Then
+        assertEquals(2.0, invalidations("write"));
+        assertEquals(0.0, meterRegistry.get("todos.search.cache.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Un resultado leido mientras se confirmaba una escritura no se debe guardar")
+    void search_shouldNotKeepResultLoadedDuringAWrite() {
+        // Given: la escritura se confirma mientras el motor consulta
+        given(delegate.search("pagar", 10, TodoField.ALL)).willAnswer(invocation -> {
+            engine.onTodosChanged(TodosBulkChangedEvent.statusChanged(new long[] { 99L }, TodoStatus.COMPLETED));
+            return List.of(PAGAR_LUZ);
+        });
+
+        // When
+        List<TodoResponse> first = engine.search("pagar", 10, TodoField.ALL);
+        engine.search("pagar", 10, TodoField.ALL);
+
+        // Then
+        assertEquals(List.of(PAGAR_LUZ), first);
+        verify(delegate, times(2)).search("pagar", 10, TodoField.ALL);
+        assertEquals(2.0, invalidations("concurrent-write"));
+    }
+}
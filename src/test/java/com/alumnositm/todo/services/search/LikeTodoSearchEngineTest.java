@@ -0,0 +1,87 @@
+package com.alumnositm.todo.services.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.alumnositm.todo.dtos.response.TodoResponse;
+import com.alumnositm.todo.helpers.TodoField;
+import com.alumnositm.todo.helpers.TodoStatus;
+
+@DisplayName("Tests de LikeTodoSearchEngine sobre H2")
+class LikeTodoSearchEngineTest {
+
+    private EmbeddedDatabase database;
+    private LikeTodoSearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table todos (id bigint primary key, title varchar(255), description varchar(1000), status varchar(20), "
+                + "version bigint default 0 not null)");
+        jdbcTemplate.update("insert into todos values (1, 'Comprar leche', 'desc', 'PENDING', 0)");
+        jdbcTemplate.update("insert into todos values (2, 'Leche de almendra', 'desc', 'PENDING', 0)");
+        jdbcTemplate.update("insert into todos values (3, 'Lavar el carro', 'desc', 'COMPLETED', 0)");
+        jdbcTemplate.update("insert into todos values (4, 'Avance 100% listo', 'desc', 'IN_PROGRESS', 0)");
+        searchEngine = new LikeTodoSearchEngine(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("search() debe ignorar mayusculas y poner primero los que empiezan con el texto")
+    void search_shouldRankPrefixMatchesFirst() {
+        List<TodoResponse> result = searchEngine.search("leche", 10);
+
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).id());
+        assertEquals(1L, result.get(1).id());
+    }
+
+    @Test
+    @DisplayName("search() con fields debe traer solo esas columnas")
+    void search_shouldSelectRequestedFields() {
+        List<TodoResponse> result = searchEngine.search("leche", 10, TodoField.parse("status"));
+
+        assertEquals(List.of(new TodoResponse(2L, null, null, TodoStatus.PENDING, null),
+                new TodoResponse(1L, null, null, TodoStatus.PENDING, null)), result);
+    }
+
+    @Test
+    @DisplayName("search() debe respetar el limite")
+    void search_shouldApplyLimit() {
+        assertEquals(1, searchEngine.search("l", 1).size());
+    }
+
+    @Test
+    @DisplayName("search() no debe ser vulnerable a inyeccion SQL")
+    void search_shouldNotBeInjectable() {
+        assertTrue(searchEngine.search("%' OR '1'='1' -- ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("search() debe tratar los comodines de LIKE como texto")
+    void search_shouldEscapeWildcards() {
+        List<TodoResponse> result = searchEngine.search("100%", 10);
+
+        assertEquals(1, result.size());
+        assertEquals(4L, result.get(0).id());
+        assertTrue(searchEngine.search("_", 10).isEmpty());
+    }
+}
@@ -0,0 +1,77 @@
+package com.alumnositm.todo.services.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Tests de TodoInvertedIndex")
+class TodoInvertedIndexTest {
+
+    private TodoInvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TodoInvertedIndex();
+        index.put(1, "Comprar leche", "En la tienda");
+        index.put(2, "Leche de almendra", "Para el cafe");
+        index.put(3, "Lavar el carro", "Antes de la reunión");
+    }
+
+    @Test
+    @DisplayName("search() debe regresar los ids que contienen todas las palabras")
+    void search_shouldIntersectTokens() {
+        assertArrayEquals(new long[] {1, 2}, index.search("leche", 10));
+        assertArrayEquals(new long[] {2}, index.search("LECHE almendra", 10));
+        assertArrayEquals(new long[0], index.search("leche carro", 10));
+        assertArrayEquals(new long[0], index.search("inexistente", 10));
+    }
+
+    @Test
+    @DisplayName("search() debe ignorar acentos y respetar el limite")
+    void search_shouldIgnoreAccentsAndApplyLimit() {
+        assertArrayEquals(new long[] {3}, index.search("reunion", 10));
+        assertArrayEquals(new long[] {1}, index.search("leche", 1));
+    }
+
+    @Test
+    @DisplayName("put() sobre un id existente debe reemplazar sus tokens")
+    void put_shouldReplaceTokensOnUpdate() {
+        index.put(1, "Comprar pan", "En la tienda");
+
+        assertArrayEquals(new long[] {2}, index.search("leche", 10));
+        assertArrayEquals(new long[] {1}, index.search("pan", 10));
+        assertEquals(3, index.documentCount());
+    }
+
+    @Test
+    @DisplayName("remove() debe quitar el id de todas sus listas")
+    void remove_shouldDropPostings() {
+        long before = index.postingCount();
+        index.remove(2);
+
+        assertArrayEquals(new long[] {1}, index.search("leche", 10));
+        assertArrayEquals(new long[0], index.search("almendra", 10));
+        assertEquals(2, index.documentCount());
+        assertTrue(index.postingCount() < before);
+    }
+
+    @Test
+    @DisplayName("putFromScan() no debe pisar cambios hechos durante la reconstruccion")
+    void putFromScan_shouldNotOverwriteConcurrentChanges() {
+        TodoInvertedIndex rebuilt = new TodoInvertedIndex();
+        rebuilt.beginRebuild();
+        rebuilt.put(5, "Titulo nuevo", "desc");
+        rebuilt.remove(6);
+        rebuilt.putFromScan(5, "Titulo viejo", "desc");
+        rebuilt.putFromScan(6, "Borrado", "desc");
+        rebuilt.putFromScan(7, "Otro", "desc");
+        rebuilt.endRebuild();
+
+        assertArrayEquals(new long[] {5}, rebuilt.search("nuevo", 10));
+        assertArrayEquals(new long[0], rebuilt.search("viejo", 10));
+        assertArrayEquals(new long[0], rebuilt.search("borrado", 10));
+        assertArrayEquals(new long[] {7}, rebuilt.search("otro", 10));
+    }
+}
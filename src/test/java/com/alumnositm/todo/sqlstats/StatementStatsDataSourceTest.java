@@ -0,0 +1,145 @@
+package com.alumnositm.todo.sqlstats;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+@DisplayName("Tests de estadisticas por sentencia SQL")
+class StatementStatsDataSourceTest {
+
+    private EmbeddedDatabase database;
+    private StatementStats stats;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        stats = new StatementStats(Duration.ofSeconds(10), 500);
+        jdbcTemplate = new JdbcTemplate(new StatementStatsDataSource(database, stats));
+        jdbcTemplate.execute("create table todos (id bigint generated by default as identity primary key, "
+                + "title varchar(255) not null, status varchar(20) not null)");
+        stats.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("fingerprint debe quitar literales, comentarios y el tamaño de las listas in")
+    void fingerprint_shouldNormalizeLiteralsAndInLists() {
+        assertEquals("select * from todos where id in (...) and title = ?",
+                StatementFingerprints.of("/* load */ SELECT *\n  FROM todos WHERE id IN (1, 2, 3) AND title = 'it''s'"));
+        assertEquals("select * from todos where id in (...) and title = ?",
+                StatementFingerprints.of("select * from todos where id in (?, ?) and title = ?"));
+        assertEquals("select t1_0.id from todos t1_0 fetch first ? rows only",
+                StatementFingerprints.of("select t1_0.id from todos t1_0 fetch first 20 rows only"));
+    }
+
+    @Test
+    @DisplayName("Debe agrupar por huella y contar filas leidas y modificadas")
+    void shouldAggregateExecutionsAndRows() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("insert into todos (title, status) values (?, ?)", "Titulo", "PENDING");
+        }
+        jdbcTemplate.update("insert into todos (title, status) values ('Literal', 'DONE')");
+
+        // When
+        List<String> titles = jdbcTemplate.queryForList("select title from todos where status = ?", String.class,
+                "PENDING");
+        int updated = jdbcTemplate.update("update todos set status = ? where status = ?", "DONE", "PENDING");
+
+        // Then
+        assertEquals(3, titles.size());
+        assertEquals(3, updated);
+        StatementStatsSnapshot insert = find("insert into todos (title, status) values (?, ?)");
+        assertEquals(4, insert.count());
+        assertEquals(4, insert.rows());
+        assertEquals(3, find("select title from todos where status = ?").rows());
+        assertEquals(3, find("update todos set status = ? where status = ?").rows());
+        assertTrue(insert.maxMs() >= insert.meanMs());
+    }
+
+    @Test
+    @DisplayName("Un batch debe sumar las filas de todos sus elementos")
+    void batchUpdate_shouldSumRows() {
+        // Given
+        List<Object[]> rows = List.of(new Object[] { "A", "PENDING" }, new Object[] { "B", "PENDING" });
+
+        // When
+        jdbcTemplate.batchUpdate("insert into todos (title, status) values (?, ?)", rows);
+
+        // Then
+        StatementStatsSnapshot insert = find("insert into todos (title, status) values (?, ?)");
+        assertEquals(1, insert.count());
+        assertEquals(2, insert.rows());
+    }
+
+    @Test
+    @DisplayName("Al superar el maximo de huellas el resto se acumula en una sola entrada")
+    void shouldCapDistinctStatements() {
+        // Given
+        stats = new StatementStats(Duration.ofSeconds(10), 1);
+        jdbcTemplate = new JdbcTemplate(new StatementStatsDataSource(database, stats));
+
+        // When
+        jdbcTemplate.queryForList("select id from todos", Long.class);
+        jdbcTemplate.queryForList("select title from todos", String.class);
+        jdbcTemplate.queryForList("select status from todos", String.class);
+
+        // Then
+        List<StatementStatsSnapshot> snapshot = stats.snapshot();
+        assertEquals(2, snapshot.size());
+        assertEquals(2, find(StatementStats.OTHER).count());
+    }
+
+    @Test
+    @DisplayName("Una sentencia preparada antes de reset debe seguir contando despues")
+    void reset_shouldKeepCountingOpenStatements() throws Exception {
+        // Given
+        DataSource dataSource = new StatementStatsDataSource(database, stats);
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement insert = connection.prepareStatement(
+                        "insert into todos (title, status) values (?, ?)")) {
+            insert.setString(1, "Antes");
+            insert.setString(2, "PENDING");
+            insert.executeUpdate();
+
+            // When
+            stats.reset();
+            insert.setString(1, "Despues");
+            insert.executeUpdate();
+        }
+
+        // Then
+        StatementStatsSnapshot snapshot = find("insert into todos (title, status) values (?, ?)");
+        assertEquals(1, snapshot.count());
+        assertEquals(1, snapshot.rows());
+    }
+
+    private StatementStatsSnapshot find(String statement) {
+        return stats.snapshot().stream()
+                .filter(s -> s.statement().equals(statement))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Sin estadisticas para " + statement + ": " + stats.snapshot()));
+    }
+}
@@ -0,0 +1,265 @@
+package com.alumnositm.todo.sse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.alumnositm.todo.entities.TodoEntity;
+import com.alumnositm.todo.events.TodoChangedEvent;
+import com.alumnositm.todo.events.TodosBulkChangedEvent;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Tests del reparto de eventos SSE")
+class TodoEventBroadcasterTest {
+
+    // Los envios se acumulan aqui y se ejecutan cuando el test lo pide, como haria el executor
+    private final List<Runnable> pending = new ArrayList<>();
+    private final Executor executor = pending::add;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Un cambio debe llegar a todos los clientes con el mismo frame")
+    void onTodoChanged_shouldFanOutToAllSubscribers() {
+        // Given
+        TodoEventBroadcaster broadcaster = broadcaster(8, TodoEventBroadcaster.OverflowPolicy.DROP);
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        broadcaster.register(first);
+        broadcaster.register(second);
+        runPending();
+
+        // When
+        broadcaster.onTodoChanged(TodoChangedEvent.created(new TodoEntity(1L, "Uno", "Desc", TodoStatus.PENDING)));
+        broadcaster.onTodosBulkChanged(TodosBulkChangedEvent.deleted(new long[] {2L, 3L}));
+        runPending();
+
+        // Then
+        assertEquals(3, first.frames.size());
+        assertSame(first.frames.get(1), second.frames.get(1));
+        assertTrue(text(first.frames.get(1)).contains("event:todo"));
+        assertTrue(text(first.frames.get(2)).contains("\"ids\":[2,3]"));
+        assertEquals(2.0, meterRegistry.get("todos.sse.subscribers").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Con politica drop un cliente atrasado debe recibir solo resync")
+    void overflow_withDrop_shouldReplaceWithResync() {
+        // Given
+        TodoEventBroadcaster broadcaster = broadcaster(2, TodoEventBroadcaster.OverflowPolicy.DROP);
+        RecordingEmitter slow = new RecordingEmitter();
+        broadcaster.register(slow);
+        runPending();
+
+        // When
+        for (long id = 1; id <= 3; id++) {
+            broadcaster.onTodoChanged(TodoChangedEvent.deleted(id));
+        }
+        runPending();
+
+        // Then
+        assertEquals(2, slow.frames.size());
+        assertTrue(text(slow.frames.get(1)).contains("event:resync"));
+        assertEquals(1, broadcaster.subscriberCount());
+        assertEquals(1.0, meterRegistry.get("todos.sse.overflows").counter().count());
+    }
+
+    @Test
+    @DisplayName("Con politica disconnect un cliente atrasado debe quedar desconectado")
+    void overflow_withDisconnect_shouldRemoveSubscriber() {
+        // Given
+        TodoEventBroadcaster broadcaster = broadcaster(1, TodoEventBroadcaster.OverflowPolicy.DISCONNECT);
+        broadcaster.register(new RecordingEmitter());
+
+        // When
+        broadcaster.onTodoChanged(TodoChangedEvent.deleted(1L));
+
+        // Then
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("El heartbeat solo debe ir a clientes sin envios pendientes y un error de envio los quita")
+    void heartbeat_shouldPingIdleSubscribersAndDropBrokenOnes() {
+        // Given
+        TodoEventBroadcaster broadcaster = broadcaster(8, TodoEventBroadcaster.OverflowPolicy.DROP);
+        RecordingEmitter idle = new RecordingEmitter();
+        RecordingEmitter broken = new RecordingEmitter();
+        broadcaster.register(idle);
+        broadcaster.register(broken);
+        runPending();
+        broken.failing = true;
+
+        // When
+        broadcaster.heartbeat();
+        runPending();
+
+        // Then
+        assertEquals(2, idle.frames.size());
+        assertTrue(text(idle.frames.get(1)).startsWith(":ping"));
+        assertEquals(1, broadcaster.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Un cliente con un envio trabado mas alla del plazo debe quedar fuera sin bloquear el reparto")
+    void broadcast_shouldAbandonStalledSubscriber() throws Exception {
+        // Given
+        TodoEventBroadcaster broadcaster = new TodoEventBroadcaster(executor, new ObjectMapper(), meterRegistry, 8,
+                TodoEventBroadcaster.OverflowPolicy.DROP, Duration.ofMinutes(1), Duration.ofSeconds(15),
+                Duration.ofMillis(1), 100);
+        RecordingEmitter stuck = new RecordingEmitter();
+        stuck.blocked = new Gate();
+        broadcaster.register(stuck);
+        Thread writer = new Thread(this::runPending);
+        writer.start();
+        assertTrue(stuck.sending.await(5, TimeUnit.SECONDS));
+        Thread.sleep(5);
+
+        // When: el hilo que confirma no espera al envio trabado
+        broadcaster.onTodoChanged(TodoChangedEvent.deleted(1L));
+        int afterBroadcast = broadcaster.subscriberCount();
+        stuck.blocked.open();
+        writer.join(5000);
+
+        // Then: cuando el envio por fin termina, el mismo hilo cierra la conexion
+        assertEquals(0, afterBroadcast);
+        assertEquals(1, stuck.frames.size());
+        assertTrue(stuck.completed);
+        assertInstanceOf(IOException.class, stuck.error);
+        assertEquals(1.0, meterRegistry.get("todos.sse.stalled").counter().count());
+    }
+
+    @Test
+    @DisplayName("Mas clientes trabados que los hilos de un pool fijo no deben impedir que los demas reciban eventos")
+    void broadcast_stalledClientsShouldNotBlockOthers() throws Exception {
+        // Given: el mismo executor que SseConfig, un hilo virtual por envio
+        SimpleAsyncTaskExecutor writers = new SimpleAsyncTaskExecutor("sse-test-");
+        writers.setVirtualThreads(true);
+        TodoEventBroadcaster broadcaster = new TodoEventBroadcaster(writers, new ObjectMapper(), meterRegistry, 8,
+                TodoEventBroadcaster.OverflowPolicy.DROP, Duration.ofMinutes(1), Duration.ofSeconds(15),
+                Duration.ofSeconds(10), 100);
+        Gate release = new Gate();
+        List<RecordingEmitter> stuck = new ArrayList<>();
+        for (int i = 0; i < 17; i++) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitter.blocked = release;
+            stuck.add(emitter);
+            broadcaster.register(emitter);
+        }
+        RecordingEmitter healthy = new RecordingEmitter();
+        healthy.received = new CountDownLatch(2);
+        broadcaster.register(healthy);
+        try {
+            for (RecordingEmitter emitter : stuck) {
+                assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+            }
+
+            // When
+            broadcaster.onTodoChanged(TodoChangedEvent.deleted(1L));
+
+            // Then: el cliente sano recibe "connected" y el evento mientras los otros siguen trabados
+            assertTrue(healthy.received.await(5, TimeUnit.SECONDS));
+            assertTrue(text(healthy.frames.get(1)).contains("event:todo"));
+            assertTrue(stuck.stream().allMatch(emitter -> emitter.frames.isEmpty()));
+        } finally {
+            release.open();
+        }
+    }
+
+    private TodoEventBroadcaster broadcaster(int bufferSize, TodoEventBroadcaster.OverflowPolicy policy) {
+        return new TodoEventBroadcaster(executor, new ObjectMapper(), meterRegistry, bufferSize, policy,
+                Duration.ofMinutes(1), Duration.ofSeconds(15), Duration.ofSeconds(10), 100);
+    }
+
+    private void runPending() {
+        while (!pending.isEmpty()) {
+            pending.remove(0).run();
+        }
+    }
+
+    private static String text(Set<DataWithMediaType> frame) {
+        StringBuilder text = new StringBuilder();
+        for (DataWithMediaType part : frame) {
+            text.append(part.getData());
+        }
+        return text.toString();
+    }
+
+    // Espera con Object.wait, como la escritura bloqueante de Tomcat: en un hilo virtual dentro de un
+    // bloque synchronized (SseEmitter.send) la JVM agrega otro hilo portador en lugar de quedarse sin el
+    private static final class Gate {
+        private boolean open;
+
+        synchronized void await() throws InterruptedException {
+            while (!open) {
+                wait();
+            }
+        }
+
+        synchronized void open() {
+            open = true;
+            notifyAll();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<Set<DataWithMediaType>> frames = new ArrayList<>();
+        private boolean failing;
+        private Gate blocked;
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile boolean completed;
+        private volatile Throwable error;
+        private CountDownLatch received;
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+            if (failing) {
+                throw new IOException("conexion cerrada");
+            }
+            sending.countDown();
+            if (blocked != null) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            frames.add(items);
+            if (received != null) {
+                received.countDown();
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            error = ex;
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.alumnositm.todo.stats;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.alumnositm.todo.dtos.response.TodoStatsResponse;
+import com.alumnositm.todo.events.TodoStatusCountsChangedEvent;
+import com.alumnositm.todo.helpers.TodoStatus;
+import com.alumnositm.todo.repositorys.TodoJdbcRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de los contadores por estado")
+class TodoStatusCountersTest {
+
+    @Mock
+    private TodoJdbcRepository todoJdbcRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TodoStatusCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        counters = new TodoStatusCounters(todoJdbcRepository, meterRegistry);
+    }
+
+    private double drift() {
+        return meterRegistry.get("todos.stats.reconcile.drift").counter().count();
+    }
+
+    @Test
+    @DisplayName("Los eventos de escritura deben mover los contadores sin consultar la base")
+    void onCountsChanged_shouldApplyDeltas() {
+        // When
+        counters.onCountsChanged(TodoStatusCountsChangedEvent.created(TodoStatus.PENDING, 3));
+        counters.onCountsChanged(TodoStatusCountsChangedEvent.moved(TodoStatus.PENDING, TodoStatus.COMPLETED));
+        counters.onCountsChanged(TodoStatusCountsChangedEvent.moved(new long[] {1, 1, 0, 0}, TodoStatus.CANCELLED));
+        counters.onCountsChanged(TodoStatusCountsChangedEvent.deleted(TodoStatus.CANCELLED));
+        TodoStatsResponse stats = counters.snapshot();
+
+        // Then
+        assertEquals(1L, stats.getCounts().get(TodoStatus.PENDING));
+        assertEquals(0L, stats.getCounts().get(TodoStatus.COMPLETED));
+        assertEquals(0L, stats.getCounts().get(TodoStatus.IN_PROGRESS));
+        assertEquals(1L, stats.getCounts().get(TodoStatus.CANCELLED));
+        assertEquals(2L, stats.getTotal());
+        assertNull(stats.getReconciledAt());
+        assertEquals(1.0, meterRegistry.get("todos.count").tag("status", "PENDING").gauge().value());
+        verifyNoInteractions(todoJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("reconcile() debe cargar los conteos al arrancar sin contarlo como desajuste")
+    void reconcile_firstRunShouldLoadWithoutDrift() {
+        // Given
+        given(todoJdbcRepository.countByStatus()).willReturn(new long[] {5, 2, 0, 1});
+
+        // When
+        long corrected = counters.reconcile();
+        TodoStatsResponse stats = counters.snapshot();
+
+        // Then
+        assertEquals(8, corrected);
+        assertEquals(8L, stats.getTotal());
+        assertEquals(5L, stats.getCounts().get(TodoStatus.PENDING));
+        assertNotNull(stats.getReconciledAt());
+        assertEquals(0.0, drift());
+    }
+
+    @Test
+    @DisplayName("reconcile() debe corregir la diferencia con la base y registrarla como desajuste")
+    void reconcile_shouldCorrectDrift() {
+        // Given: otra instancia completo un todo que aqui no se vio
+        given(todoJdbcRepository.countByStatus()).willReturn(new long[] {2, 0, 0, 0}, new long[] {1, 1, 0, 0});
+        counters.reconcile();
+
+        // When
+        long corrected = counters.reconcile();
+
+        // Then
+        assertEquals(2, corrected);
+        assertEquals(1L, counters.snapshot().getCounts().get(TodoStatus.COMPLETED));
+        assertEquals(2L, counters.snapshot().getTotal());
+        assertEquals(2.0, drift());
+    }
+
+    @Test
+    @DisplayName("Un evento dentro de una transaccion solo debe contar si se confirma")
+    void onCountsChanged_shouldApplyOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Given
+            counters.onCountsChanged(TodoStatusCountsChangedEvent.created(TodoStatus.PENDING, 2));
+            assertEquals(0L, counters.snapshot().getTotal());
+
+            // When
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counters.onCountsChanged(TodoStatusCountsChangedEvent.created(TodoStatus.PENDING, 5));
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(2L, counters.snapshot().getTotal());
+    }
+
+    @Test
+    @DisplayName("reconcile() no debe comparar mientras una escritura esta entre su evento y su commit")
+    void reconcile_shouldSkipWhileWriteIsInFlight() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Given: la escritura ya publico su delta y puede estar ya confirmada en la base
+            counters.onCountsChanged(TodoStatusCountsChangedEvent.created(TodoStatus.PENDING, 1));
+
+            // When
+            long corrected = counters.reconcile();
+
+            // Then
+            assertEquals(0, corrected);
+            assertNull(counters.snapshot().getReconciledAt());
+            assertEquals(1.0, meterRegistry.get("todos.stats.reconcile.skipped").counter().count());
+            verifyNoInteractions(todoJdbcRepository);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("reconcile() debe repetir la consulta si se aplico una escritura mientras corria")
+    void reconcile_shouldRetryWhenWriteIsAppliedDuringQuery() {
+        // Given: el alta se confirma antes de la foto pero su delta se aplica despues
+        given(todoJdbcRepository.countByStatus()).willAnswer(invocation -> {
+            counters.onCountsChanged(TodoStatusCountsChangedEvent.created(TodoStatus.PENDING, 1));
+            return new long[] {1, 0, 0, 0};
+        }).willReturn(new long[] {1, 0, 0, 0});
+
+        // When
+        long corrected = counters.reconcile();
+
+        // Then: sin repetir se habria contado dos veces
+        assertEquals(0, corrected);
+        assertEquals(1L, counters.snapshot().getTotal());
+        then(todoJdbcRepository).should(times(2)).countByStatus();
+    }
+}